@@ -0,0 +1,235 @@
+package ChessGame.bench;
+
+import ChessGame.Board;
+import ChessGame.bitboard.Bitboards;
+import ChessGame.bitboard.Position;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
+import ChessGame.notation.Fen;
+import ChessGame.pieces.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The RulesBenchmarks class defines the JMH benchmarks for the hot paths of the rules
+ * engine: {@link Piece#possibleMoves} for each piece type, {@link Board#isKingInCheck},
+ * {@link Board#isCheckmate}, {@link Board#isStalemate}, {@link Board#copyBoard} and
+ * {@link Board#movePiece}. Each one runs on an opening, a middlegame and an endgame position.
+ *
+ * Every benchmark runs in a JVM of its own, so the piece types do not share a type profile
+ * at the {@code possibleMoves} call site. Run with {@code -prof gc} for bytes per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RulesBenchmarks {
+    @Param({"opening", "middlegame", "endgame"})
+    public String position;
+
+    private Board board;
+    private Position bitboards;
+    private final MoveList moves = new MoveList();
+    private String color;
+    private Piece pawn;
+    private Piece knight;
+    private Piece bishop;
+    private Piece rook;
+    private Piece queen;
+    private Piece king;
+    private Piece[][] view;
+    private String from;
+    private String to;
+
+    @Setup
+    public void setUp() {
+        String fen = fen(position);
+        board = new Board(fen);
+        bitboards = new Position();
+        Fen.load(fen, bitboards);
+        color = board.sideToMove() == Position.WHITE ? "white" : "black";
+        pawn = findPiece(Pawn.class);
+        knight = findPiece(Knight.class);
+        bishop = findPiece(Bishop.class);
+        rook = findPiece(Rook.class);
+        queen = findPiece(Queen.class);
+        king = findPiece(King.class);
+
+        view = new Piece[8][8];
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                view[row][col] = board.getPieceAt(row, col);
+            }
+        }
+
+        int move = quietKnightMove();
+        from = Bitboards.squareName(Move.from(move));
+        to = Bitboards.squareName(Move.to(move));
+    }
+
+    /**
+     * A board of its own for {@link #movePiece}, whose move is taken back between calls.
+     * The per-call fixture is kept out of the main state so it does not slow the timing
+     * of the other benchmarks.
+     *
+     * The knight is moved back with {@link Board#movePiece} too and both moves are then
+     * unmade. That leaves the piece view matching the position again, so rebuilding it
+     * allocates nothing and the GC profiler's bytes per operation are the move's own.
+     */
+    @State(Scope.Thread)
+    public static class MoveState {
+        Board board;
+        String from;
+        String to;
+        boolean moved;
+        private int fromRow;
+        private int fromCol;
+
+        @Setup
+        public void setUp(RulesBenchmarks benchmarks) {
+            board = new Board(fen(benchmarks.position));
+            from = benchmarks.from;
+            to = benchmarks.to;
+            fromRow = Bitboards.row(Bitboards.parseSquare(from));
+            fromCol = Bitboards.col(Bitboards.parseSquare(from));
+        }
+
+        // Takes the move back and refreshes the piece view, as the GUI does when it next
+        // draws, so the measured move does not pay for it
+        @TearDown(Level.Invocation)
+        public void takeBack() {
+            if (moved) {
+                board.movePiece(to, from);
+                board.unmakeMove();
+                board.unmakeMove();
+                board.getPieceAt(fromRow, fromCol);
+                moved = false;
+            }
+        }
+    }
+
+    @Benchmark
+    public int pawnPossibleMoves() {
+        return possibleMoves(pawn);
+    }
+
+    @Benchmark
+    public int knightPossibleMoves() {
+        return possibleMoves(knight);
+    }
+
+    @Benchmark
+    public int bishopPossibleMoves() {
+        return possibleMoves(bishop);
+    }
+
+    @Benchmark
+    public int rookPossibleMoves() {
+        return possibleMoves(rook);
+    }
+
+    @Benchmark
+    public int queenPossibleMoves() {
+        return possibleMoves(queen);
+    }
+
+    @Benchmark
+    public int kingPossibleMoves() {
+        return possibleMoves(king);
+    }
+
+    @Benchmark
+    public boolean isKingInCheck() {
+        return board.isKingInCheck(color);
+    }
+
+    @Benchmark
+    public boolean isCheckmate() {
+        return board.isCheckmate(color);
+    }
+
+    @Benchmark
+    public boolean isStalemate() {
+        return board.isStalemate(color);
+    }
+
+    @Benchmark
+    public Piece[][] copyBoard() {
+        return Board.copyBoard(view);
+    }
+
+    /**
+     * A move played from the GUI on a board whose piece view is up to date.
+     */
+    @Benchmark
+    public boolean movePiece(MoveState state) {
+        return state.moved = state.board.movePiece(state.from, state.to);
+    }
+
+    /**
+     * A GUI move after the engine took one back: the move also rebuilds the piece view,
+     * which {@link Board#unmakeMove()} leaves stale. The difference to {@link #movePiece}
+     * is the cost of that rebuild.
+     */
+    @Benchmark
+    public boolean movePieceAfterUnmake() {
+        boolean moved = board.movePiece(from, to);
+        board.unmakeMove();
+        return moved;
+    }
+
+    // A legal quiet knight move of the side to move, which the knight can always reverse
+    private int quietKnightMove() {
+        moves.clear();
+        board.generateLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (Move.flags(move) == Move.QUIET
+                    && Position.typeOf(board.pieceAt(Move.from(move))) == Position.KNIGHT) {
+                return move;
+            }
+        }
+        throw new IllegalStateException("No quiet knight move in " + position);
+    }
+
+    private int possibleMoves(Piece piece) {
+        moves.clear();
+        piece.possibleMoves(bitboards, moves);
+        return moves.size();
+    }
+
+    // First piece of a type, preferring the side to move
+    private Piece findPiece(Class<? extends Piece> type) {
+        Piece found = null;
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                Piece piece = board.getPieceAt(row, col);
+                if (type.isInstance(piece)) {
+                    if (piece.getColor().equals(color)) {
+                        return piece;
+                    }
+                    if (found == null) {
+                        found = piece;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private static String fen(String position) {
+        switch (position) {
+            case "opening":
+                return "r1bqkbnr/pppp1ppp/2n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3";
+            case "middlegame":
+                return "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+            case "endgame":
+                return "2r3k1/5pp1/3b3p/3N4/8/5QPP/5PK1/3R4 w - - 0 30";
+            default:
+                throw new IllegalArgumentException("Unknown position: " + position);
+        }
+    }
+}
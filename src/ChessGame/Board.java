@@ -1,28 +1,68 @@
 package ChessGame;
 
+import ChessGame.bitboard.AttackTables;
+import ChessGame.bitboard.Bitboards;
+import ChessGame.bitboard.PackedPosition;
+import ChessGame.bitboard.Position;
+import ChessGame.eval.Evaluation;
+import ChessGame.log.Log;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
+import ChessGame.notation.Fen;
 import ChessGame.pieces.*;
 
 import javax.swing.*;
-import java.util.List;
+import java.util.Arrays;
 
 
 /**
  * The Board class represents the chessboard and manages the state of the game.
  * It initializes the board, handles piece movement, and enforces game rules such as
  * check, checkmate, and stalemate.
+ *
+ * The position itself is held in a bitboard {@link Position}, which answers all rule
+ * queries. The Piece[][] array is only a view of that position for the Swing layer.
+ *
+ * Engine code plays moves with {@link #makeMove(int)} and takes them back with
+ * {@link #unmakeMove()}, which keep an undo stack instead of copying the board. Those
+ * calls leave the Piece[][] view alone; it is rebuilt the next time the GUI reads it.
+ *
+ * {@link #generateLegalMoves(MoveList)} finds the pieces giving check and the pieces
+ * pinned to the king once per position and only generates moves that respect them, so
+ * no move has to be played and taken back to test its legality.
  */
 public class Board {
-    private Piece[][] pieces = new Piece[8][8]; // The array representing the board
-    private String currentPlayer = "white"; // "white" or "black"
-    private final int SIZE = 8;
-
+    private static final Log LOG = Log.forClass(Board.class);
+
+    private final Position position = new Position(); // Bitboard position that serves all rule queries
+    private Position scratch; // Loaded into and checked before replacing the position, allocated on first use
+    private Piece[][] pieces = new Piece[8][8]; // Piece view of the position for the GUI
+    private final MoveList moveBuffer = new MoveList(); // Reused by move validation and mate/stalemate checks
+    private boolean viewStale = false; // True when the position changed without updating the Piece[][] view
+    private int[] undoMoves = new int[256];  // Moves played with makeMove, most recent last
+    private int[] undoStates = new int[256]; // Captured piece, castling rights, en-passant square and halfmove clock before each move
+    private long[] undoHashes = new long[256]; // Position hash before each move, for repetition detection
+    private int undoCount = 0;
+
+    // Castling rights kept when a piece moves from or to each square
+    private static final int[] CASTLING_MASKS = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_MASKS, Position.ALL_CASTLING);
+        CASTLING_MASKS[0] &= ~Position.WHITE_QUEENSIDE;  // A1 rook
+        CASTLING_MASKS[7] &= ~Position.WHITE_KINGSIDE;   // H1 rook
+        CASTLING_MASKS[4] &= ~(Position.WHITE_KINGSIDE | Position.WHITE_QUEENSIDE); // E1 king
+        CASTLING_MASKS[56] &= ~Position.BLACK_QUEENSIDE; // A8 rook
+        CASTLING_MASKS[63] &= ~Position.BLACK_KINGSIDE;  // H8 rook
+        CASTLING_MASKS[60] &= ~(Position.BLACK_KINGSIDE | Position.BLACK_QUEENSIDE); // E8 king
+    }
 
     /**
      * Default constructor for the Board class.
      * Initializes the chessboard with the standard starting positions.
      */
     public Board() {
-        this.pieces = new Piece[SIZE][SIZE];
+        this.pieces = new Piece[8][8];
         initializeBoard();
     }
 
@@ -40,6 +80,111 @@ public class Board {
                 }
             }
         }
+        loadPositionFromView();
+    }
+
+    /**
+     * Overloaded constructor for initializing the board from a FEN string.
+     * The Piece[][] view is only built if the GUI asks for it.
+     *
+     * @param fen the position in Forsyth-Edwards Notation.
+     * @throws IllegalArgumentException if the FEN string is malformed or describes an
+     *                                  impossible position.
+     */
+    public Board(String fen) {
+        loadFen(fen);
+    }
+
+    /**
+     * Copy constructor. The new board starts from the other board's current position and
+     * undo stack, so engine threads can each search on their own board and still see the
+     * positions played before it for repetitions.
+     *
+     * @param other the board to copy.
+     */
+    public Board(Board other) {
+        position.copyFrom(other.position);
+        if (other.undoCount > undoMoves.length) {
+            undoMoves = new int[other.undoCount];
+            undoStates = new int[other.undoCount];
+            undoHashes = new long[other.undoCount];
+        }
+        System.arraycopy(other.undoMoves, 0, undoMoves, 0, other.undoCount);
+        System.arraycopy(other.undoStates, 0, undoStates, 0, other.undoCount);
+        System.arraycopy(other.undoHashes, 0, undoHashes, 0, other.undoCount);
+        undoCount = other.undoCount;
+        viewStale = true;
+    }
+
+    /**
+     * Replaces the current position with the position described by a FEN string and
+     * clears the undo stack. If the string is rejected the board is left unchanged.
+     *
+     * @param fen the position in Forsyth-Edwards Notation.
+     * @throws IllegalArgumentException if the FEN string is malformed or describes an
+     *                                  impossible position.
+     */
+    public void loadFen(String fen) {
+        Fen.load(fen, scratch());
+        position.copyFrom(scratch);
+        undoCount = 0;
+        viewStale = true;
+    }
+
+    /**
+     * Replaces the current position with a copy of a position set up by the caller, e.g.
+     * with {@link Position#setPiece(int, int)} and the other mutators of a fresh
+     * {@link Position}, and clears the undo stack.
+     *
+     * @param setup the position to copy.
+     */
+    public void loadPosition(Position setup) {
+        position.copyFrom(setup);
+        undoCount = 0;
+        viewStale = true;
+    }
+
+    /**
+     * Writes the current position in Forsyth-Edwards Notation, including the side to
+     * move, castling rights, en-passant square and move counters.
+     *
+     * @return the FEN string.
+     */
+    public String toFen() {
+        return Fen.toString(position);
+    }
+
+    /**
+     * Replaces the current position with a packed position and clears the undo stack.
+     * If the packed position is rejected the board is left unchanged.
+     *
+     * @param packed the position to load.
+     * @throws IllegalArgumentException if the packed data is corrupt or describes an
+     *                                  impossible position.
+     */
+    public void load(PackedPosition packed) {
+        packed.unpack(scratch());
+        position.copyFrom(scratch);
+        undoCount = 0;
+        viewStale = true;
+    }
+
+    // The scratch position, so a rejected FEN string or record never reaches the real one
+    private Position scratch() {
+        if (scratch == null) {
+            scratch = new Position();
+        }
+        return scratch;
+    }
+
+    /**
+     * Stores the current position in a packed position, e.g. to park a game that is not
+     * being played. The undo stack is not stored.
+     *
+     * @param target the packed position to overwrite.
+     */
+    public void pack(PackedPosition target) {
+        target.copyFrom(position);
     }
 
     /**
@@ -48,69 +193,145 @@ public class Board {
     public void initializeBoard() {
         // Initialize white pieces
         pieces[7][0] = new Rook("white", convertToChessNotation(7, 0));
-        System.out.println("DEBUG: Added White Rook at A8");
-
         pieces[7][1] = new Knight("white", convertToChessNotation(7, 1));
-        System.out.println("DEBUG: Added White Knight at B8");
-
         pieces[7][2] = new Bishop("white", convertToChessNotation(7, 2));
-        System.out.println("DEBUG: Added White Bishop at C8");
-
         pieces[7][3] = new Queen("white", convertToChessNotation(7, 3));
-        System.out.println("DEBUG: Added White Queen at D8");
-
         pieces[7][4] = new King("white", convertToChessNotation(7, 4));
-        System.out.println("DEBUG: Added White King at E8");
-
         pieces[7][5] = new Bishop("white", convertToChessNotation(7, 5));
-        System.out.println("DEBUG: Added White Bishop at F8");
-
         pieces[7][6] = new Knight("white", convertToChessNotation(7, 6));
-        System.out.println("DEBUG: Added White Knight at G8");
-
         pieces[7][7] = new Rook("white", convertToChessNotation(7, 7));
-        System.out.println("DEBUG: Added White Rook at H8");
 
         for (int col = 0; col < 8; col++) {
             pieces[6][col] = new Pawn("white", convertToChessNotation(6, col));
-            System.out.println("DEBUG: Added White Pawn at " + convertToChessNotation(6, col));
         }
 
         // Initialize black pieces
         pieces[0][0] = new Rook("black", convertToChessNotation(0, 0));
-        System.out.println("DEBUG: Added Black Rook at A1");
-
         pieces[0][1] = new Knight("black", convertToChessNotation(0, 1));
-        System.out.println("DEBUG: Added Black Knight at B1");
-
         pieces[0][2] = new Bishop("black", convertToChessNotation(0, 2));
-        System.out.println("DEBUG: Added Black Bishop at C1");
-
         pieces[0][3] = new Queen("black", convertToChessNotation(0, 3));
-        System.out.println("DEBUG: Added Black Queen at D1");
-
         pieces[0][4] = new King("black", convertToChessNotation(0, 4));
-        System.out.println("DEBUG: Added Black King at E1");
-
         pieces[0][5] = new Bishop("black", convertToChessNotation(0, 5));
-        System.out.println("DEBUG: Added Black Bishop at F1");
-
         pieces[0][6] = new Knight("black", convertToChessNotation(0, 6));
-        System.out.println("DEBUG: Added Black Knight at G1");
-
         pieces[0][7] = new Rook("black", convertToChessNotation(0, 7));
-        System.out.println("DEBUG: Added Black Rook at H1");
 
         for (int col = 0; col < 8; col++) {
             pieces[1][col] = new Pawn("black", convertToChessNotation(1, col));
-            System.out.println("DEBUG: Added Black Pawn at " + convertToChessNotation(1, col));
         }
 
-        // Debug: Display the board state after initialization
-        System.out.println("DEBUG: Initial Board State After Setup:");
+        loadPositionFromView();
+
+        LOG.debug("board.initialized");
         displayBoard();
     }
 
+    /**
+     * Rebuilds the bitboard position from the Piece[][] view, with white to move.
+     * A castling right is granted wherever the king and rook stand on their original squares.
+     */
+    private void loadPositionFromView() {
+        position.clear();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                Piece piece = pieces[row][col];
+                if (piece != null) {
+                    position.setPiece(pieceCode(piece), Bitboards.square(row, col));
+                }
+            }
+        }
+
+        int rights = 0;
+        int whiteRook = Position.piece(Position.WHITE, Position.ROOK);
+        int blackRook = Position.piece(Position.BLACK, Position.ROOK);
+        if (position.pieceAt(4) == Position.piece(Position.WHITE, Position.KING)) {
+            if (position.pieceAt(7) == whiteRook) rights |= Position.WHITE_KINGSIDE;
+            if (position.pieceAt(0) == whiteRook) rights |= Position.WHITE_QUEENSIDE;
+        }
+        if (position.pieceAt(60) == Position.piece(Position.BLACK, Position.KING)) {
+            if (position.pieceAt(63) == blackRook) rights |= Position.BLACK_KINGSIDE;
+            if (position.pieceAt(56) == blackRook) rights |= Position.BLACK_QUEENSIDE;
+        }
+        position.setCastlingRights(rights);
+
+        undoCount = 0;
+        viewStale = false;
+    }
+
+    /**
+     * Rebuilds the Piece[][] view from the bitboard position after engine moves.
+     */
+    private void refreshView() {
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                int code = position.pieceAt(Bitboards.square(row, col));
+                Piece piece = pieces[row][col];
+                if (code == Position.EMPTY) {
+                    pieces[row][col] = null;
+                } else if (piece == null || pieceCode(piece) != code) {
+                    pieces[row][col] = createPiece(code, convertToChessNotation(row, col));
+                }
+            }
+        }
+        viewStale = false;
+    }
+
+    /**
+     * Returns the bitboard piece code for a Piece object.
+     *
+     * @param piece the Piece object.
+     * @return the corresponding {@link Position} piece code.
+     */
+    private static int pieceCode(Piece piece) {
+        int color = colorIndex(piece.getColor());
+        if (piece instanceof Pawn) {
+            return Position.piece(color, Position.PAWN);
+        } else if (piece instanceof Knight) {
+            return Position.piece(color, Position.KNIGHT);
+        } else if (piece instanceof Bishop) {
+            return Position.piece(color, Position.BISHOP);
+        } else if (piece instanceof Rook) {
+            return Position.piece(color, Position.ROOK);
+        } else if (piece instanceof Queen) {
+            return Position.piece(color, Position.QUEEN);
+        }
+        return Position.piece(color, Position.KING);
+    }
+
+    /**
+     * Creates a Piece object for a bitboard piece code.
+     *
+     * @param code     the {@link Position} piece code.
+     * @param position the position of the piece in chess notation.
+     * @return a new Piece object of the corresponding type and color.
+     */
+    private static Piece createPiece(int code, String position) {
+        String color = Position.colorOf(code) == Position.WHITE ? "white" : "black";
+        switch (Position.typeOf(code)) {
+            case Position.PAWN:
+                return new Pawn(color, position);
+            case Position.KNIGHT:
+                return new Knight(color, position);
+            case Position.BISHOP:
+                return new Bishop(color, position);
+            case Position.ROOK:
+                return new Rook(color, position);
+            case Position.QUEEN:
+                return new Queen(color, position);
+            default:
+                return new King(color, position);
+        }
+    }
+
+    /**
+     * Converts a color name to its bitboard color index.
+     *
+     * @param color the color name ("white" or "black").
+     * @return {@link Position#WHITE} or {@link Position#BLACK}.
+     */
+    private static int colorIndex(String color) {
+        return color.equalsIgnoreCase("white") ? Position.WHITE : Position.BLACK;
+    }
+
     /**
      * Retrieves the piece at a specific position on the board.
      *
@@ -120,11 +341,27 @@ public class Board {
      */
     public Piece getPieceAt(int row, int col) {
         if (row >= 0 && row < 8 && col >= 0 && col < 8) {
+            if (position.pieceAt(Bitboards.square(row, col)) == Position.EMPTY) {
+                return null; // Empty square
+            }
+            if (viewStale) {
+                refreshView();
+            }
             return pieces[row][col]; // Return the piece at the specified position
         }
         return null; // Return null if the position is out of bounds
     }
 
+    /**
+     * Returns the encoded piece on a square, without touching the Piece[][] view.
+     *
+     * @param square the square index, 0 (A1) to 63 (H8).
+     * @return the piece code ({@code color * 6 + type}), or {@link Position#EMPTY}.
+     */
+    public int pieceAt(int square) {
+        return position.pieceAt(square);
+    }
+
     /**
      * Attempts to move a piece from one position to another.
      *
@@ -133,97 +370,507 @@ public class Board {
      * @return true if the move is successful; false otherwise.
      */
     public boolean movePiece(String from, String to) {
-        int[] fromPos = parsePosition(from);
-        int[] toPos = parsePosition(to);
+        int fromSquare = Bitboards.parseSquare(from);
+        int toSquare = Bitboards.parseSquare(to);
+        if (fromSquare < 0 || toSquare < 0) {
+            LOG.debug("move.rejected", "reason", "bad square", "square", fromSquare < 0 ? from : to);
+            return false;
+        }
+
+        int movingCode = position.pieceAt(fromSquare);
+        if (movingCode == Position.EMPTY) {
+            LOG.debug("move.rejected", "reason", "no piece", "from", from);
+            return false;
+        }
+        if (viewStale) {
+            refreshView();
+        }
 
-        int fromRow = fromPos[0];
-        int fromCol = fromPos[1];
-        int toRow = toPos[0];
-        int toCol = toPos[1];
+        // Either color may be moved here; the side to move follows the piece
+        if (position.sideToMove() != Position.colorOf(movingCode)) {
+            position.setSideToMove(Position.colorOf(movingCode));
+            position.setEnPassantSquare(-1);
+        }
 
+        int fromRow = Bitboards.row(fromSquare);
+        int fromCol = Bitboards.col(fromSquare);
+        int toRow = Bitboards.row(toSquare);
+        int toCol = Bitboards.col(toSquare);
         Piece movingPiece = pieces[fromRow][fromCol];
-        if (movingPiece == null) {
-            System.out.println("DEBUG: No piece at the starting square.");
+
+        // Validate the move; promotions from the GUI always choose a queen, which is generated first
+        moveBuffer.clear();
+        generatePieceMoves(fromSquare, -1L, moveBuffer);
+        int move = Move.NONE;
+        for (int i = 0; i < moveBuffer.size(); i++) {
+            if (Move.to(moveBuffer.get(i)) == toSquare) {
+                move = moveBuffer.get(i);
+                break;
+            }
+        }
+        if (move == Move.NONE) {
+            LOG.debug("move.rejected", "reason", "illegal move", "from", from);
             return false;
         }
 
-        // Validate the move
-        List<String> validMoves = movingPiece.possibleMoves(pieces);
-        if (!validMoves.contains(to)) {
-            System.out.println("DEBUG: Invalid move for piece " + movingPiece.getClass().getSimpleName());
+        // Check for check condition
+        if (leavesKingInCheck(move)) {
+            LOG.debug("move.rejected", "reason", "leaves king in check", "from", from);
             return false;
         }
 
         // Proceed with the move
-        Piece targetPiece = pieces[toRow][toCol];
+        makeMove(move);
+
+        if (Move.isPromotion(move)) {
+            movingPiece = createPiece(position.pieceAt(toSquare), to);
+        }
         pieces[toRow][toCol] = movingPiece;
         pieces[fromRow][fromCol] = null;
         movingPiece.setPosition(to);
 
-        // Check for check condition and revert if necessary
-        boolean kingInCheck = isKingInCheck(movingPiece.getColor());
-        if (kingInCheck) {
-            pieces[fromRow][fromCol] = movingPiece;
-            pieces[toRow][toCol] = targetPiece;
-            System.out.println("DEBUG: Move leaves the king in check.");
-            return false;
+        if (Move.flags(move) == Move.EN_PASSANT) {
+            pieces[fromRow][toCol] = null; // The captured pawn stands beside the moving pawn
+        } else if (Move.flags(move) == Move.KING_CASTLE || Move.flags(move) == Move.QUEEN_CASTLE) {
+            int rookFromCol = Move.flags(move) == Move.KING_CASTLE ? 7 : 0;
+            int rookToCol = Move.flags(move) == Move.KING_CASTLE ? 5 : 3;
+            Piece rook = pieces[toRow][rookFromCol];
+            pieces[toRow][rookToCol] = rook;
+            pieces[toRow][rookFromCol] = null;
+            rook.setPosition(convertToChessNotation(toRow, rookToCol));
         }
+        viewStale = false;
 
         // Additional game state updates (e.g., switch turns) can follow here.
         return true;
     }
 
     /**
-     * Checks if a king of the specified color is in check.
+     * Adds the moves of the piece on a square that land on the given mask to a move list,
+     * ignoring whether a move would leave its own king in check.
      *
-     * @param color the color of the king to check ("white" or "black").
-     * @return true if the king is in check; false otherwise.
+     * @param square the square of the piece.
+     * @param mask   the squares the piece may move to, or -1 for no restriction.
+     * @param moves  the list the moves are appended to.
      */
-    public boolean isKingInCheck(String color) {
-        int[] kingPosition = findKing(color);
-        if (kingPosition == null) {
-            return false; // No king found (should not happen in a valid game)
+    private void generatePieceMoves(int square, long mask, MoveList moves) {
+        switch (Position.typeOf(position.pieceAt(square))) {
+            case Position.PAWN:
+                Pawn.generateMoves(position, square, mask, moves);
+                break;
+            case Position.KNIGHT:
+                Knight.generateMoves(position, square, mask, moves);
+                break;
+            case Position.BISHOP:
+                Bishop.generateMoves(position, square, mask, moves);
+                break;
+            case Position.ROOK:
+                Rook.generateMoves(position, square, mask, moves);
+                break;
+            case Position.QUEEN:
+                Queen.generateMoves(position, square, mask, moves);
+                break;
+            default:
+                King.generateMoves(position, square, mask, moves);
+                break;
         }
+    }
 
-        int kingRow = kingPosition[0];
-        int kingCol = kingPosition[1];
+    /**
+     * Adds the moves of every piece of a color to a move list, ignoring whether a move
+     * would leave its own king in check.
+     *
+     * @param color the color to move.
+     * @param moves the list the moves are appended to.
+     */
+    private void generatePseudoLegalMoves(int color, MoveList moves) {
+        long own = position.occupancy(color);
+        while (own != 0) {
+            generatePieceMoves(Long.numberOfTrailingZeros(own), -1L, moves);
+            own &= own - 1;
+        }
+    }
 
-        // Check if any opposing piece can attack the king's position
-        String opponentColor = color.equals("white") ? "black" : "white";
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = pieces[row][col];
-                if (piece != null && piece.getColor().equals(opponentColor)) {
-                    List<String> moves = piece.possibleMoves(pieces);
-                    for (String move : moves) {
-                        int[] movePos = parsePosition(move);
-                        if (movePos[0] == kingRow && movePos[1] == kingCol) {
-                            return true; // King is under attack
-                        }
-                    }
+    /**
+     * Plays a move on the board and pushes what is needed to take it back onto the
+     * undo stack. The move must have been generated for the current position; it is
+     * not validated.
+     *
+     * @param move the encoded move.
+     */
+    public void makeMove(int move) {
+        int fromSquare = Move.from(move);
+        int toSquare = Move.to(move);
+        int flags = Move.flags(move);
+        long hashBefore = position.hash();
+
+        int movingCode = position.removePiece(fromSquare);
+        int color = Position.colorOf(movingCode);
+        int captureSquare = flags == Move.EN_PASSANT ? toSquare + (color == Position.WHITE ? -8 : 8) : toSquare;
+        int capturedCode = position.removePiece(captureSquare);
+        boolean resetsClock = Position.typeOf(movingCode) == Position.PAWN || capturedCode != Position.EMPTY;
+
+        // Save the state the move cannot be undone from
+        if (undoCount == undoMoves.length) {
+            undoMoves = Arrays.copyOf(undoMoves, undoCount * 2);
+            undoStates = Arrays.copyOf(undoStates, undoCount * 2);
+            undoHashes = Arrays.copyOf(undoHashes, undoCount * 2);
+        }
+        undoMoves[undoCount] = move;
+        undoHashes[undoCount] = hashBefore;
+        undoStates[undoCount] = (capturedCode + 1)
+                | (position.castlingRights() << 4)
+                | ((position.enPassantSquare() + 1) << 8)
+                | (Math.min(position.halfmoveClock(), 0xFFFF) << 16);
+        undoCount++;
+
+        if (Move.isPromotion(move)) {
+            movingCode = Position.piece(color, Move.promotionType(move));
+        }
+        position.setPiece(movingCode, toSquare);
+
+        if (flags == Move.KING_CASTLE) {
+            position.setPiece(position.removePiece(toSquare + 1), toSquare - 1);
+        } else if (flags == Move.QUEEN_CASTLE) {
+            position.setPiece(position.removePiece(toSquare - 2), toSquare + 1);
+        }
+
+        position.setCastlingRights(position.castlingRights() & CASTLING_MASKS[fromSquare] & CASTLING_MASKS[toSquare]);
+        position.setEnPassantSquare(flags == Move.DOUBLE_PAWN_PUSH ? (fromSquare + toSquare) / 2 : -1);
+        position.setSideToMove(color ^ 1);
+        position.setMoveCounters(resetsClock ? 0 : position.halfmoveClock() + 1, position.fullmoveNumber() + color);
+        viewStale = true;
+    }
+
+    /**
+     * Takes back the last move played with {@link #makeMove(int)}, restoring the
+     * captured piece, the castling rights, the en-passant square and the move counters.
+     *
+     * @throws IllegalStateException if there is no move to take back.
+     */
+    public void unmakeMove() {
+        if (undoCount == 0) {
+            throw new IllegalStateException("No move to unmake");
+        }
+        undoCount--;
+        int move = undoMoves[undoCount];
+        int state = undoStates[undoCount];
+
+        int fromSquare = Move.from(move);
+        int toSquare = Move.to(move);
+        int flags = Move.flags(move);
+
+        int movingCode = position.removePiece(toSquare);
+        int color = Position.colorOf(movingCode);
+        if (Move.isPromotion(move)) {
+            movingCode = Position.piece(color, Position.PAWN);
+        }
+        position.setPiece(movingCode, fromSquare);
+
+        int capturedCode = (state & 0xF) - 1;
+        if (capturedCode != Position.EMPTY) {
+            int captureSquare = flags == Move.EN_PASSANT ? toSquare + (color == Position.WHITE ? -8 : 8) : toSquare;
+            position.setPiece(capturedCode, captureSquare);
+        }
+
+        if (flags == Move.KING_CASTLE) {
+            position.setPiece(position.removePiece(toSquare - 1), toSquare + 1);
+        } else if (flags == Move.QUEEN_CASTLE) {
+            position.setPiece(position.removePiece(toSquare + 1), toSquare - 2);
+        }
+
+        position.setCastlingRights((state >>> 4) & 0xF);
+        position.setEnPassantSquare(((state >>> 8) & 0x7F) - 1);
+        position.setSideToMove(color);
+        position.setMoveCounters(state >>> 16, position.fullmoveNumber() - color);
+        viewStale = true;
+    }
+
+    /**
+     * Adds every legal move of the side to move to a move list.
+     * The king only steps to squares the enemy does not attack once it is lifted off the
+     * board. In double check nothing else can move; in single check the other pieces must
+     * capture the checker or block its ray. A pinned piece stays on the line through its
+     * king and the pinning slider.
+     *
+     * @param moves the list the moves are appended to.
+     */
+    public void generateLegalMoves(MoveList moves) {
+        generateLegalMoves(moves, -1L);
+    }
+
+    /**
+     * Adds the legal moves of the side to move that end on one of the given squares to a
+     * move list. This is much cheaper than generating every move when only the moves to
+     * a known square are wanted, e.g. when resolving a move written in algebraic notation.
+     *
+     * @param moves   the list the moves are appended to.
+     * @param targets a bitboard of the destination squares to generate moves to.
+     */
+    public void generateLegalMoves(MoveList moves, long targets) {
+        int first = moves.size();
+        long masks = targets;
+        int enPassant = position.enPassantSquare();
+        if (enPassant >= 0 && (targets & Bitboards.bit(enPassant)) != 0) {
+            masks |= Bitboards.bit(enPassant ^ 8); // An en-passant capture may evade a check by the pawn it takes
+        }
+        generateLegalMovesTo(moves, masks);
+        if (targets != -1L) {
+            // Castling ignores the masks and other pieces may capture that pawn; drop moves off the targets
+            int kept = first;
+            for (int i = first; i < moves.size(); i++) {
+                int move = moves.get(i);
+                if ((targets & Bitboards.bit(Move.to(move))) != 0) {
+                    moves.set(kept++, move);
                 }
             }
+            moves.truncate(kept);
         }
+    }
 
-        return false; // King is safe
+    // Generates the legal moves, with the destination masks narrowed to the targets
+    private void generateLegalMovesTo(MoveList moves, long targets) {
+        int color = position.sideToMove();
+        int kingSquare = position.kingSquare(color);
+        if (kingSquare < 0) {
+            generateFilteredMoves(color, moves); // No king to protect, e.g. a hand-built test board
+            return;
+        }
+        int enemy = color ^ 1;
+        long occupied = position.occupied();
+        long own = position.occupancy(color);
+        long kingBit = Bitboards.bit(kingSquare);
+
+        // King steps, tested with the king lifted off so it cannot hide behind itself on a ray
+        long safe = 0L;
+        long steps = AttackTables.king(kingSquare) & ~own & targets;
+        while (steps != 0) {
+            int to = Long.numberOfTrailingZeros(steps);
+            steps &= steps - 1;
+            if (position.attackersOf(to, enemy, occupied ^ kingBit) == 0) {
+                safe |= Bitboards.bit(to);
+            }
+        }
+        King.generateMoves(position, kingSquare, safe, moves);
+
+        long checkers = position.attackersOf(kingSquare, enemy, occupied);
+        if ((checkers & (checkers - 1)) != 0) {
+            return; // Double check: only the king can move
+        }
+        long checkMask = targets & (checkers == 0 ? -1L
+                : checkers | AttackTables.between(kingSquare, Long.numberOfTrailingZeros(checkers)));
+        long pinned = pinnedPieces(color, kingSquare);
+
+        long others = own & ~kingBit;
+        while (others != 0) {
+            int square = Long.numberOfTrailingZeros(others);
+            others &= others - 1;
+            long mask = checkMask;
+            if ((pinned & Bitboards.bit(square)) != 0) {
+                mask &= AttackTables.line(kingSquare, square);
+            }
+            generatePieceMoves(square, mask, moves);
+        }
     }
 
     /**
-     * Finds the position of the king of a specified color.
+     * Returns the pieces of a color that are pinned to their king by an enemy slider.
      *
-     * @param color the color of the king to locate.
-     * @return an array with the row and column indices of the king, or null if not found.
+     * @param color      the color of the king.
+     * @param kingSquare the square of the king.
+     * @return a bitboard of the pinned pieces.
      */
-    private int[] findKing(String color) {
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = pieces[row][col];
-                if (piece != null && piece instanceof King && piece.getColor().equals(color)) {
-                    return new int[]{row, col};
-                }
+    private long pinnedPieces(int color, int kingSquare) {
+        int enemy = color ^ 1;
+        long own = position.occupancy(color);
+        long occupied = position.occupied();
+        long enemyOccupied = position.occupancy(enemy);
+        long queens = position.pieces(enemy, Position.QUEEN);
+
+        // Enemy sliders that would see the king if none of our pieces were in the way
+        long snipers = (AttackTables.rook(kingSquare, enemyOccupied) & (position.pieces(enemy, Position.ROOK) | queens))
+                | (AttackTables.bishop(kingSquare, enemyOccupied) & (position.pieces(enemy, Position.BISHOP) | queens));
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = AttackTables.between(kingSquare, sniper) & occupied;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0 && (blockers & own) != 0) {
+                pinned |= blockers;
+            }
+        }
+        return pinned;
+    }
+
+    // Generates pseudo-legal moves and drops those that leave the king in check
+    private void generateFilteredMoves(int color, MoveList moves) {
+        int first = moves.size();
+        generatePseudoLegalMoves(color, moves);
+        int kept = first;
+        for (int i = first; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (!leavesKingInCheck(move)) {
+                moves.set(kept++, move);
             }
         }
-        return null; // King not found (should not happen in a valid game)
+        moves.truncate(kept);
+    }
+
+    /**
+     * Returns the number of moves since the last capture or pawn move, for the fifty-move rule.
+     *
+     * @return the halfmove clock.
+     */
+    public int halfmoveClock() {
+        return position.halfmoveClock();
+    }
+
+    /**
+     * Returns the number of moves on the undo stack, i.e. the moves played with
+     * {@link #makeMove(int)} since the position was set up.
+     *
+     * @return the number of moves that can be taken back.
+     */
+    public int historyLength() {
+        return undoCount;
+    }
+
+    /**
+     * Returns the hash of a position played earlier, as {@link #hash()} returned it then.
+     *
+     * @param movesAgo 1 for the position before the last move, 2 for the one before that,
+     *                 up to {@link #historyLength()}.
+     * @return the 64-bit position hash.
+     * @throws IllegalArgumentException if there is no such position on the undo stack.
+     */
+    public long hashMovesAgo(int movesAgo) {
+        if (movesAgo < 1 || movesAgo > undoCount) {
+            throw new IllegalArgumentException("No position " + movesAgo + " moves ago: " + undoCount + " moves played");
+        }
+        return undoHashes[undoCount - movesAgo];
+    }
+
+    /**
+     * Returns the number of the current full move; it starts at 1 and grows after each black move.
+     *
+     * @return the fullmove number.
+     */
+    public int fullmoveNumber() {
+        return position.fullmoveNumber();
+    }
+
+    /**
+     * Returns the Zobrist hash of the current position. It covers piece placement, side
+     * to move, castling rights and en-passant file, and is kept up to date by every move
+     * and take-back, so equal positions reached by different move orders share a hash.
+     *
+     * @return the 64-bit position hash.
+     */
+    public long hash() {
+        return position.hash();
+    }
+
+    /**
+     * Returns the static evaluation of the current position. The material and
+     * piece-square sums behind it are updated with every move and take-back, so this
+     * is a constant-time call.
+     *
+     * @return the score in centipawns from the side to move's point of view.
+     */
+    public int evaluate() {
+        return Evaluation.evaluate(position);
+    }
+
+    /**
+     * Returns the static evaluation computed from scratch. It always equals
+     * {@link #evaluate()} and exists to verify the incremental updates.
+     *
+     * @return the score in centipawns from the side to move's point of view.
+     */
+    public int evaluateFromScratch() {
+        return Evaluation.evaluateFromScratch(position);
+    }
+
+    /**
+     * Returns the color whose turn it is.
+     *
+     * @return {@link Position#WHITE} or {@link Position#BLACK}.
+     */
+    public int sideToMove() {
+        return position.sideToMove();
+    }
+
+    /**
+     * Checks whether the king of the side to move is in check.
+     *
+     * @return true if the side to move is in check; false otherwise.
+     */
+    public boolean isInCheck() {
+        int color = position.sideToMove();
+        int kingSquare = position.kingSquare(color);
+        return kingSquare >= 0 && position.isSquareAttacked(kingSquare, color ^ 1);
+    }
+
+    /**
+     * Plays a move on the bitboard position, checks whether it leaves the mover's king
+     * attacked, and takes it back.
+     *
+     * @param move the encoded move.
+     * @return true if the move would leave the king in check; false otherwise.
+     */
+    private boolean leavesKingInCheck(int move) {
+        int color = Position.colorOf(position.pieceAt(Move.from(move)));
+        boolean stale = viewStale;
+        makeMove(move);
+
+        int kingSquare = position.kingSquare(color);
+        boolean inCheck = kingSquare >= 0 && position.isSquareAttacked(kingSquare, color ^ 1);
+
+        // Revert the move
+        unmakeMove();
+        viewStale = stale;
+        return inCheck;
+    }
+
+    /**
+     * Checks whether a color has at least one legal move.
+     *
+     * @param color the color to check.
+     * @return true if a legal move exists; false otherwise.
+     */
+    private boolean hasLegalMove(int color) {
+        // Look at the position as if it were this color's turn
+        int sideToMove = position.sideToMove();
+        int enPassantSquare = position.enPassantSquare();
+        if (sideToMove != color) {
+            position.setSideToMove(color);
+            position.setEnPassantSquare(-1);
+        }
+
+        moveBuffer.clear();
+        generateLegalMoves(moveBuffer);
+        boolean found = !moveBuffer.isEmpty(); // At least one valid move exists
+
+        position.setSideToMove(sideToMove);
+        position.setEnPassantSquare(enPassantSquare);
+        return found;
+    }
+
+    /**
+     * Checks if a king of the specified color is in check.
+     *
+     * @param color the color of the king to check ("white" or "black").
+     * @return true if the king is in check; false otherwise.
+     */
+    public boolean isKingInCheck(String color) {
+        int kingColor = colorIndex(color);
+        int kingSquare = position.kingSquare(kingColor);
+        if (kingSquare < 0) {
+            return false; // No king found (should not happen in a valid game)
+        }
+
+        // Check if any opposing piece can attack the king's position
+        return position.isSquareAttacked(kingSquare, kingColor ^ 1);
     }
 
 
@@ -252,35 +899,34 @@ public class Board {
     }
 
     /**
-     * Parses a position in chess notation (e.g., "A8") into row and column indices.
-     *
-     * @param position the chess notation string.
-     * @return an array with the row and column indices.
+     * Logs the current state of the board at debug level. The diagram is only built when
+     * debug logging is enabled.
      */
-    public static int[] parsePosition(String position) {
-        int col = position.charAt(0) - 'A'; // Column from file
-        int row = 8 - Character.getNumericValue(position.charAt(1)); // Row from rank
-        return new int[]{row, col};
+    public void displayBoard() {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("board", "diagram", toDiagram());
+        }
     }
 
     /**
-     * Displays the current state of the board in the console.
+     * Draws the board as text, one rank per line with rank 8 at the top.
+     *
+     * @return the diagram.
      */
-    public void displayBoard() {
-        System.out.println("DEBUG: Current Board State:");
-        System.out.println("  A B C D E F G H");
+    public String toDiagram() {
+        if (viewStale) {
+            refreshView();
+        }
+        StringBuilder diagram = new StringBuilder(200);
+        diagram.append("  A B C D E F G H\n");
         for (int row = 0; row < 8; row++) {
-            System.out.print((8 - row) + " "); // Print row numbers
+            diagram.append(8 - row).append(' '); // Row numbers
             for (int col = 0; col < 8; col++) {
-                if (pieces[row][col] == null) {
-                    System.out.print("- ");
-                } else {
-                    System.out.print(pieces[row][col].getUnicode() + " ");
-                }
+                diagram.append(pieces[row][col] == null ? "-" : pieces[row][col].getUnicode()).append(' ');
             }
-            System.out.println();
+            diagram.append('\n');
         }
-        System.out.println();
+        return diagram.toString();
     }
 
     /**
@@ -295,36 +941,7 @@ public class Board {
         }
 
         // Check if the player has any valid moves left
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = pieces[row][col];
-                if (piece != null && piece.getColor().equals(color)) {
-                    List<String> validMoves = piece.possibleMoves(pieces);
-                    for (String move : validMoves) {
-                        int[] toPos = parsePosition(move);
-                        int toRow = toPos[0];
-                        int toCol = toPos[1];
-
-                        // Simulate the move
-                        Piece targetPiece = pieces[toRow][toCol];
-                        pieces[toRow][toCol] = piece;
-                        pieces[row][col] = null;
-
-                        boolean kingStillInCheck = isKingInCheck(color);
-
-                        // Revert the move
-                        pieces[row][col] = piece;
-                        pieces[toRow][toCol] = targetPiece;
-
-                        if (!kingStillInCheck) {
-                            return false; // At least one valid move exists
-                        }
-                    }
-                }
-            }
-        }
-
-        return true; // No valid moves left, so it's checkmate
+        return !hasLegalMove(colorIndex(color));
     }
 
     /**
@@ -337,10 +954,10 @@ public class Board {
         int choice = JOptionPane.showConfirmDialog(null, message, "Game Over", JOptionPane.YES_NO_OPTION);
 
         if (choice == JOptionPane.YES_OPTION) {
-            System.out.println("DEBUG: Player chose to play again.");
+            LOG.debug("game.over", "choice", "play again");
             Game.getInstance().resetGame();
         } else {
-            System.out.println("DEBUG: Player chose to exit.");
+            LOG.debug("game.over", "choice", "exit");
             System.exit(0);
         }
     }
@@ -356,12 +973,9 @@ public class Board {
             }
         }
 
-        // Reinitialize all pieces to their starting positions
+        // Reinitialize all pieces to their starting positions; this also logs the board
         initializeBoard();
-
-        // Debugging: Display the board state after reset
-        System.out.println("DEBUG: Logical board has been reset.");
-        displayBoard();
+        LOG.debug("board.reset");
     }
 
     /**
@@ -376,39 +990,8 @@ public class Board {
             return false;
         }
 
-        // Check if the player has any valid moves
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                Piece piece = pieces[row][col];
-                if (piece != null && piece.getColor().equals(color)) {
-                    List<String> validMoves = piece.possibleMoves(pieces);
-                    for (String move : validMoves) {
-                        int[] toPos = parsePosition(move);
-                        int toRow = toPos[0];
-                        int toCol = toPos[1];
-
-                        // Simulate the move
-                        Piece targetPiece = pieces[toRow][toCol];
-                        pieces[toRow][toCol] = piece;
-                        pieces[row][col] = null;
-
-                        boolean kingStillInCheck = isKingInCheck(color);
-
-                        // Revert the move
-                        pieces[row][col] = piece;
-                        pieces[toRow][toCol] = targetPiece;
-
-                        // If the king is not in check after the move, stalemate is false
-                        if (!kingStillInCheck) {
-                            return false;
-                        }
-                    }
-                }
-            }
-        }
-
         // If no valid moves exist and the king is not in check, it's stalemate
-        return true;
+        return !hasLegalMove(colorIndex(color));
     }
 
     /**
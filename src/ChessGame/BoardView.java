@@ -0,0 +1,253 @@
+package ChessGame;
+
+import ChessGame.bitboard.Bitboards;
+import ChessGame.bitboard.Position;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.util.Arrays;
+
+/**
+ * The BoardView class draws the chessboard as a single Swing component: the squares, the
+ * pieces, the selected square and the piece being dragged are all painted in
+ * {@link #paintComponent(Graphics)} from an array of piece codes, without any child
+ * components.
+ *
+ * Every change repaints only the squares it affects. {@link #setPieces(int[])} compares
+ * the new pieces with the ones shown and repaints the squares that differ, so a move
+ * repaints two to four squares and never triggers a layout pass. Painting skips the
+ * squares outside the clip, so such a repaint only draws those squares.
+ *
+ * Pieces are drawn from {@link PieceSprites} rendered for the current square size and
+ * display scale. Painting checks both and renders new sprites when either has changed,
+ * so a resize or a move to a screen with another scale is picked up on the next paint,
+ * and no text is laid out while painting otherwise.
+ *
+ * Like all Swing components, a view must only be used on the event dispatch thread.
+ */
+public class BoardView extends JComponent {
+    private static final long serialVersionUID = 1L;
+
+    private static final Color LIGHT_COLOR = new Color(240, 217, 181); // Light square color
+    private static final Color DARK_COLOR = new Color(181, 136, 99);   // Dark square color
+    private static final Color HIGHLIGHT_COLOR = Color.LIGHT_GRAY;     // Color for the selected square
+    private static final Color GRID_COLOR = Color.GRAY;                // Square outlines
+
+    private final int[] pieces = new int[64]; // Piece code per square (0 = A1) as shown
+    private int selectedSquare = -1;           // Highlighted square, or -1
+    private int draggedPiece = Position.EMPTY; // Piece following the mouse, or EMPTY
+    private int dragX;                         // Top-left corner of the dragged piece's cell
+    private int dragY;
+    private PieceSprites sprites;              // Pieces for the current square size and display scale
+    private long paintCount;                   // Number of paintComponent calls, for frame statistics
+
+    /**
+     * Creates an empty board view.
+     */
+    public BoardView() {
+        Arrays.fill(pieces, Position.EMPTY);
+        setOpaque(true);
+        setPreferredSize(new Dimension(600, 600));
+    }
+
+    /**
+     * Shows new pieces, repainting only the squares whose piece changed.
+     *
+     * @param newPieces the piece code of each square (0 = A1), or {@link Position#EMPTY}.
+     */
+    public void setPieces(int[] newPieces) {
+        for (int square = 0; square < 64; square++) {
+            if (pieces[square] != newPieces[square]) {
+                pieces[square] = newPieces[square];
+                repaintSquare(square);
+            }
+        }
+    }
+
+    /**
+     * Returns the piece shown on a square.
+     *
+     * @param square the square index, 0 (A1) to 63 (H8).
+     * @return the piece code, or {@link Position#EMPTY}.
+     */
+    public int pieceAt(int square) {
+        return pieces[square];
+    }
+
+    /**
+     * Highlights a square, removing the highlight from the previously selected one.
+     *
+     * @param square the square index, or -1 to clear the selection.
+     */
+    public void setSelectedSquare(int square) {
+        if (square == selectedSquare) {
+            return;
+        }
+        if (selectedSquare >= 0) {
+            repaintSquare(selectedSquare);
+        }
+        selectedSquare = square;
+        if (square >= 0) {
+            repaintSquare(square);
+        }
+    }
+
+    /**
+     * Draws a piece following the mouse, on top of the board. Moving the piece repaints
+     * the union of its old and new cells in one request. The cell is kept inside the view,
+     * so a piece dragged past the edge stops there and every move has something to repaint.
+     *
+     * @param piece the piece code.
+     * @param x     the x coordinate of the top-left corner of the piece's cell.
+     * @param y     the y coordinate of the top-left corner of the piece's cell.
+     */
+    public void setDraggedPiece(int piece, int x, int y) {
+        int size = squareSize();
+        x = Math.max(0, Math.min(x, getWidth() - size));
+        y = Math.max(0, Math.min(y, getHeight() - size));
+        Rectangle dirty = new Rectangle(x, y, size, size);
+        if (draggedPiece != Position.EMPTY) {
+            dirty.add(new Rectangle(dragX, dragY, size, size));
+        }
+        draggedPiece = piece;
+        dragX = x;
+        dragY = y;
+        repaint(dirty);
+    }
+
+    /**
+     * Stops drawing the dragged piece.
+     */
+    public void clearDraggedPiece() {
+        if (draggedPiece != Position.EMPTY) {
+            int size = squareSize();
+            repaint(dragX, dragY, size, size);
+            draggedPiece = Position.EMPTY;
+        }
+    }
+
+    /**
+     * Returns the side length of a square. The board is the largest square that fits the
+     * component, centered in it.
+     *
+     * @return the square size in pixels.
+     */
+    public int squareSize() {
+        return Math.max(1, Math.min(getWidth(), getHeight()) / 8);
+    }
+
+    /**
+     * Returns the area a square covers in this component.
+     *
+     * @param square the square index, 0 (A1) to 63 (H8).
+     * @return the square's bounds.
+     */
+    public Rectangle squareBounds(int square) {
+        int size = squareSize();
+        return new Rectangle(boardX() + Bitboards.col(square) * size, boardY() + Bitboards.row(square) * size, size, size);
+    }
+
+    /**
+     * Finds the square under a point of this component with a few divisions, whatever the
+     * component's size.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @return the square index, or -1 if the point is outside the board.
+     */
+    public int squareAt(int x, int y) {
+        int size = squareSize();
+        int boardX = x - boardX();
+        int boardY = y - boardY();
+        if (boardX < 0 || boardY < 0 || boardX >= 8 * size || boardY >= 8 * size) {
+            return -1;
+        }
+        return Bitboards.square(boardY / size, boardX / size);
+    }
+
+    /**
+     * Finds the square whose center is closest to a point of this component. Inside the
+     * board that is the square under the point; outside, it is the nearest edge square.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @return the square index.
+     */
+    public int closestSquareAt(int x, int y) {
+        int size = squareSize();
+        int col = Math.max(0, Math.min(7, Math.floorDiv(x - boardX(), size)));
+        int row = Math.max(0, Math.min(7, Math.floorDiv(y - boardY(), size)));
+        return Bitboards.square(row, col);
+    }
+
+    /**
+     * Returns the number of times the view has been painted, so a caller can tell whether
+     * a repaint it requested has happened yet.
+     *
+     * @return the paint count.
+     */
+    public long paintCount() {
+        return paintCount;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        paintCount++;
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(getBackground() != null ? getBackground() : Color.WHITE);
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        int size = squareSize();
+        PieceSprites sprites = sprites((Graphics2D) g, size);
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                int x = boardX() + col * size;
+                int y = boardY() + row * size;
+                if (!clip.intersects(x, y, size, size)) {
+                    continue;
+                }
+                int square = Bitboards.square(row, col);
+                g.setColor(square == selectedSquare ? HIGHLIGHT_COLOR : (row + col) % 2 == 0 ? LIGHT_COLOR : DARK_COLOR);
+                g.fillRect(x, y, size, size);
+                g.setColor(GRID_COLOR);
+                g.drawRect(x, y, size - 1, size - 1);
+                if (pieces[square] != Position.EMPTY) {
+                    sprites.draw(g, pieces[square], x, y);
+                }
+            }
+        }
+        if (draggedPiece != Position.EMPTY) {
+            sprites.draw(g, draggedPiece, dragX, dragY);
+        }
+    }
+
+    // The sprites for a square size at the display scale of the graphics, rendered again when either changes
+    private PieceSprites sprites(Graphics2D g, int size) {
+        AffineTransform transform = g.getDeviceConfiguration().getDefaultTransform();
+        double scaleX = transform.getScaleX();
+        double scaleY = transform.getScaleY();
+        if (sprites == null || !sprites.matches(size, scaleX, scaleY)) {
+            sprites = new PieceSprites(g.getDeviceConfiguration(), size, scaleX, scaleY);
+        }
+        return sprites;
+    }
+
+    // Repaints the area of one square
+    private void repaintSquare(int square) {
+        repaint(squareBounds(square));
+    }
+
+    // Left edge of the board
+    private int boardX() {
+        return (getWidth() - 8 * squareSize()) / 2;
+    }
+
+    // Top edge of the board
+    private int boardY() {
+        return (getHeight() - 8 * squareSize()) / 2;
+    }
+}
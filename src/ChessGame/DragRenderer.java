@@ -0,0 +1,169 @@
+package ChessGame;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * The DragRenderer class moves a dragged piece across a {@link BoardView} at the pace of
+ * the display rather than the pace of the mouse.
+ *
+ * Pointer events only record the latest position. A Swing timer ticking once per display
+ * refresh moves the piece there, so however many events a high-rate mouse sends, the
+ * view repaints the union of the piece's old and new cells at most once per frame.
+ *
+ * The renderer counts pointer events, painted frames and dropped frames for tuning. A
+ * frame is dropped when the event dispatch thread was too busy to run a tick on time
+ * while the pointer was moving; the late tick then shows the latest position, and the
+ * ticks it replaced are counted.
+ *
+ * Like all Swing code, a renderer must only be used on the event dispatch thread.
+ */
+public final class DragRenderer {
+    private static final int DEFAULT_REFRESH_RATE = 60; // When the display does not report one
+
+    private final BoardView view;
+    private final Timer timer;
+    private int piece;                 // The dragged piece while dragging
+    private int pendingX;              // Latest pointer position not yet shown
+    private int pendingY;
+    private boolean pending;           // True when the pointer moved since the last frame
+    private long periodNanos;          // Time between ticks
+    private long lastTickNanos;        // When the last tick ran
+    private long startPaintCount;      // The view's paint count when the drag started
+    private long endPaintCount;        // The view's paint count when the drag ended
+
+    private long pointerEvents;
+    private long droppedFrames;
+    private long startNanos;
+    private long endNanos;
+
+    /**
+     * Creates a renderer for a board view.
+     *
+     * @param view the view the dragged piece is drawn on.
+     */
+    public DragRenderer(BoardView view) {
+        this.view = view;
+        this.timer = new Timer(1000 / DEFAULT_REFRESH_RATE, event -> frame());
+        timer.setCoalesce(true); // Never queue up ticks the EDT could not keep up with
+    }
+
+    /**
+     * Starts a drag, showing the piece at once and resetting the statistics.
+     *
+     * @param piece the piece code.
+     * @param x     the x coordinate of the top-left corner of the piece's cell.
+     * @param y     the y coordinate of the top-left corner of the piece's cell.
+     */
+    public void start(int piece, int x, int y) {
+        this.piece = piece;
+        pointerEvents = 1;
+        droppedFrames = 0;
+        pending = false;
+        startNanos = System.nanoTime();
+        endNanos = 0;
+        startPaintCount = view.paintCount();
+        view.setDraggedPiece(piece, x, y);
+        timer.setDelay(Math.max(1, 1000 / refreshRate()));
+        periodNanos = timer.getDelay() * 1_000_000L;
+        lastTickNanos = startNanos;
+        timer.start();
+    }
+
+    /**
+     * Records a new pointer position, shown at the next frame.
+     *
+     * @param x the x coordinate of the top-left corner of the piece's cell.
+     * @param y the y coordinate of the top-left corner of the piece's cell.
+     */
+    public void moveTo(int x, int y) {
+        pointerEvents++;
+        pendingX = x;
+        pendingY = y;
+        pending = true;
+    }
+
+    /**
+     * Ends the drag and removes the piece from the view.
+     */
+    public void stop() {
+        if (timer.isRunning()) {
+            timer.stop();
+            endNanos = System.nanoTime();
+            endPaintCount = view.paintCount();
+        }
+        view.clearDraggedPiece();
+    }
+
+    /**
+     * Returns the number of pointer events of the current or last drag.
+     *
+     * @return the event count.
+     */
+    public long pointerEvents() {
+        return pointerEvents;
+    }
+
+    /**
+     * Returns the number of frames the view painted in the current or last drag.
+     *
+     * @return the frame count.
+     */
+    public long frames() {
+        return (timer.isRunning() ? view.paintCount() : endPaintCount) - startPaintCount;
+    }
+
+    /**
+     * Returns the number of ticks that came too late to show the pointer's movement on time.
+     *
+     * @return the dropped frame count.
+     */
+    public long droppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * Returns the frame rate of the current or last drag.
+     *
+     * @return the frames per second.
+     */
+    public double framesPerSecond() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return end > startNanos ? frames() * 1e9 / (end - startNanos) : 0;
+    }
+
+    /**
+     * Summarizes the statistics of the current or last drag.
+     *
+     * @return a line such as "240 events, 61 frames, 59.8 fps, 0 dropped".
+     */
+    public String summary() {
+        return String.format("%d events, %d frames, %.1f fps, %d dropped",
+                pointerEvents, frames(), framesPerSecond(), droppedFrames);
+    }
+
+    // Runs once per display refresh while dragging
+    private void frame() {
+        long now = System.nanoTime();
+        long late = now - lastTickNanos - periodNanos;
+        lastTickNanos = now;
+        if (!pending) {
+            return;
+        }
+        if (late > periodNanos / 2) {
+            droppedFrames += (late + periodNanos / 2) / periodNanos; // Ticks coalesced into this one
+        }
+        pending = false;
+        view.setDraggedPiece(piece, pendingX, pendingY);
+    }
+
+    // The refresh rate of the view's screen
+    private int refreshRate() {
+        GraphicsConfiguration configuration = view.getGraphicsConfiguration();
+        if (configuration == null || GraphicsEnvironment.isHeadless()) {
+            return DEFAULT_REFRESH_RATE;
+        }
+        int rate = configuration.getDevice().getDisplayMode().getRefreshRate();
+        return rate != DisplayMode.REFRESH_RATE_UNKNOWN && rate > 0 ? rate : DEFAULT_REFRESH_RATE;
+    }
+}
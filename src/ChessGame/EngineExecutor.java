@@ -0,0 +1,243 @@
+package ChessGame;
+
+import ChessGame.bitboard.Bitboards;
+import ChessGame.bitboard.Position;
+import ChessGame.search.Engine;
+import ChessGame.search.SearchLimits;
+import ChessGame.search.SearchResult;
+
+import javax.swing.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The EngineExecutor class keeps rule checks and engine thinking off the Swing event
+ * dispatch thread (EDT).
+ *
+ * It owns the game's {@link Board}: after construction only its worker thread touches the
+ * board. The GUI submits moves and resets, and the worker validates them, runs the check,
+ * checkmate and stalemate queries, and hands the outcome back to the EDT with
+ * {@link SwingUtilities#invokeLater}, together with a snapshot of the piece on each square
+ * for the GUI to draw from. Engine analysis runs on the {@link Engine}'s own thread, so a
+ * move submitted while the engine is thinking is handled at once.
+ *
+ * A move or reset cancels any running analysis: the engine is stopped and results that
+ * arrive afterwards are dropped. A reset also drops the outcome of any move still in flight.
+ */
+public final class EngineExecutor {
+    private final Board board;   // Confined to the worker thread
+    private final Engine engine; // Or null when only rule checks are wanted
+    private final ExecutorService worker;
+    private final AtomicLong gameGeneration = new AtomicLong();     // Bumped by every reset
+    private final AtomicLong analysisGeneration = new AtomicLong(); // Bumped by every move, reset and cancel
+
+    /**
+     * The result of a move request, as seen by the GUI.
+     */
+    public static final class MoveOutcome {
+        private final boolean accepted;
+        private final int[] pieces;
+        private final boolean opponentInCheck;
+        private final boolean opponentCheckmated;
+        private final boolean opponentStalemated;
+        private final boolean kingMustLeaveCheck;
+
+        private MoveOutcome(boolean accepted, int[] pieces, boolean opponentInCheck, boolean opponentCheckmated,
+                            boolean opponentStalemated, boolean kingMustLeaveCheck) {
+            this.accepted = accepted;
+            this.pieces = pieces;
+            this.opponentInCheck = opponentInCheck;
+            this.opponentCheckmated = opponentCheckmated;
+            this.opponentStalemated = opponentStalemated;
+            this.kingMustLeaveCheck = kingMustLeaveCheck;
+        }
+
+        /**
+         * Checks whether the move was legal and has been played.
+         *
+         * @return true if the move was played; false otherwise.
+         */
+        public boolean isAccepted() {
+            return accepted;
+        }
+
+        /**
+         * Returns the piece on each square after the request.
+         *
+         * @return the piece code of each square (0 = A1), or {@link ChessGame.bitboard.Position#EMPTY}.
+         */
+        public int[] getPieces() {
+            return pieces;
+        }
+
+        /**
+         * Checks whether the move gives check.
+         *
+         * @return true if the opponent is in check; false otherwise.
+         */
+        public boolean isOpponentInCheck() {
+            return opponentInCheck;
+        }
+
+        /**
+         * Checks whether the move gives checkmate.
+         *
+         * @return true if the opponent is checkmated; false otherwise.
+         */
+        public boolean isOpponentCheckmated() {
+            return opponentCheckmated;
+        }
+
+        /**
+         * Checks whether the move leaves the opponent in stalemate.
+         *
+         * @return true if the opponent is stalemated; false otherwise.
+         */
+        public boolean isOpponentStalemated() {
+            return opponentStalemated;
+        }
+
+        /**
+         * Checks whether a king move was rejected because the king is in check.
+         *
+         * @return true if the king must move out of check; false otherwise.
+         */
+        public boolean isKingMustLeaveCheck() {
+            return kingMustLeaveCheck;
+        }
+    }
+
+    /**
+     * Creates an executor that takes over a board.
+     *
+     * @param board  the game's board; the caller must not use it afterwards.
+     * @param engine the engine used for analysis, or null for an executor that only runs
+     *               rule checks and cannot analyse.
+     */
+    public EngineExecutor(Board board, Engine engine) {
+        this.board = board;
+        this.engine = engine;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chess-rules");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Validates and plays a move on the worker thread, then reports the outcome on the EDT.
+     *
+     * @param from     the starting square in chess notation (e.g., "E2").
+     * @param to       the destination square in chess notation (e.g., "E4").
+     * @param mover    the color making the move ("white" or "black").
+     * @param onResult called on the EDT with the outcome, unless the game is reset first.
+     */
+    public void submitMove(String from, String to, String mover, Consumer<MoveOutcome> onResult) {
+        cancelAnalysis();
+        long game = gameGeneration.get();
+        worker.execute(() -> {
+            MoveOutcome outcome = applyMove(from, to, mover);
+            SwingUtilities.invokeLater(() -> {
+                if (gameGeneration.get() == game) {
+                    onResult.accept(outcome);
+                }
+            });
+        });
+    }
+
+    /**
+     * Resets the board to the starting position on the worker thread.
+     *
+     * @param onReset called on the EDT with the piece code on each square.
+     */
+    public void reset(Consumer<int[]> onReset) {
+        cancelAnalysis();
+        long game = gameGeneration.incrementAndGet();
+        worker.execute(() -> {
+            board.resetBoard();
+            int[] pieces = snapshot();
+            SwingUtilities.invokeLater(() -> {
+                if (gameGeneration.get() == game) {
+                    onReset.accept(pieces);
+                }
+            });
+        });
+    }
+
+    /**
+     * Starts analysing the current position, after any moves already submitted.
+     *
+     * @param limits   the search budget.
+     * @param onResult called on the EDT with the result, unless a move, reset or cancel comes first.
+     * @throws IllegalStateException if the executor was created without an engine.
+     */
+    public void analyze(SearchLimits limits, Consumer<SearchResult> onResult) {
+        if (engine == null) {
+            throw new IllegalStateException("No engine to analyse with");
+        }
+        long analysis = analysisGeneration.get();
+        worker.execute(() -> {
+            if (analysisGeneration.get() != analysis) {
+                return; // Cancelled before it started
+            }
+            engine.startSearch(board, limits, result -> SwingUtilities.invokeLater(() -> {
+                if (analysisGeneration.get() == analysis) {
+                    onResult.accept(result);
+                }
+            }));
+            if (analysisGeneration.get() != analysis) {
+                engine.stop(); // Cancelled while starting; the cancel may have stopped the previous search
+            }
+        });
+    }
+
+    /**
+     * Stops any running analysis and drops its result.
+     */
+    public void cancelAnalysis() {
+        analysisGeneration.incrementAndGet();
+        if (engine != null) {
+            engine.stop();
+        }
+    }
+
+    /**
+     * Stops the engine and the worker thread.
+     */
+    public void shutdown() {
+        cancelAnalysis();
+        if (engine != null) {
+            engine.shutdown();
+        }
+        worker.shutdown();
+    }
+
+    // Runs on the worker thread: plays the move and answers the rule queries the GUI needs
+    private MoveOutcome applyMove(String from, String to, String mover) {
+        int fromSquare = Bitboards.parseSquare(from);
+        int movingPiece = fromSquare >= 0 ? board.pieceAt(fromSquare) : Position.EMPTY;
+        if (!board.movePiece(from, to)) {
+            boolean mustLeaveCheck = movingPiece != Position.EMPTY && Position.typeOf(movingPiece) == Position.KING
+                    && board.isKingInCheck(Position.colorOf(movingPiece) == Position.WHITE ? "white" : "black");
+            return new MoveOutcome(false, snapshot(), false, false, false, mustLeaveCheck);
+        }
+        board.displayBoard();
+
+        String opponent = mover.equals("white") ? "black" : "white";
+        boolean inCheck = board.isKingInCheck(opponent);
+        boolean checkmate = inCheck && board.isCheckmate(opponent);
+        boolean stalemate = !inCheck && board.isStalemate(opponent);
+        return new MoveOutcome(true, snapshot(), inCheck, checkmate, stalemate, false);
+    }
+
+    // Copies the piece codes of all squares for the GUI
+    private int[] snapshot() {
+        int[] pieces = new int[64];
+        for (int square = 0; square < 64; square++) {
+            pieces[square] = board.pieceAt(square);
+        }
+        return pieces;
+    }
+}
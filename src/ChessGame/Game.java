@@ -1,7 +1,13 @@
 package ChessGame;
 
-import ChessGame.pieces.King;
-import ChessGame.pieces.Piece;
+import ChessGame.bitboard.AttackTables;
+import ChessGame.bitboard.Bitboards;
+import ChessGame.bitboard.Position;
+import ChessGame.log.Log;
+import ChessGame.moves.Move;
+import ChessGame.search.Engine;
+import ChessGame.search.SearchLimits;
+import ChessGame.search.SearchResult;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -10,24 +16,38 @@ import javax.swing.*;
 /**
  * The Game class manages the graphical user interface (GUI) and overall control of a chess game.
  * It initializes the chessboard, handles user interactions, and enforces game rules and turn order.
+ *
+ * Rule checks and engine analysis run on an {@link EngineExecutor}, never on the event
+ * dispatch thread, so the GUI stays responsive while they work. The GUI draws from the
+ * snapshot of the board that comes back with each result.
+ *
+ * Engine analysis is off by default. Started with {@code -Dchess.analysis=true}, the game
+ * lets the engine think after every move and shows its suggestion below the board.
+ *
+ * The board is drawn by a single {@link BoardView}, which repaints only the squares a
+ * move changes.
  */
 public class Game {
+    private static final Log LOG = Log.forClass(Game.class);
+
     private final JFrame frame = new JFrame("Chess Game");
     private final Board board = new Board();
-    private final JPanel[][] boardSquares = new JPanel[8][8];
-    private final Color lightColor = new Color(240, 217, 181); // Light square color
-    private final Color darkColor = new Color(181, 136, 99);   // Dark square color
-    private final Color highlightColor = Color.LIGHT_GRAY; // Color for selected square
+    private final EngineExecutor engineExecutor = new EngineExecutor(board, ANALYSIS_ENABLED ? new Engine(16) : null);
+    private int[] shownPieces = new int[64]; // Piece code per square (0 = A1) as last reported by the executor
+    private boolean moveInFlight = false;    // True while a submitted move has not been answered
+    private final JLabel analysisLabel = new JLabel(" ");
+    private final BoardView boardView = new BoardView();
+    private final DragRenderer dragRenderer = new DragRenderer(boardView); // Paces the dragged piece to the display
     private boolean dragging = false;                          // Indicates if a piece is being dragged
     private boolean selected = false;
-    private Point dragOffset;     
-    private Point mousePressPoint;
-    private JLabel floatingPieceLabel;
-    private JPanel selectedSquarePanel;
-    private JLabel selectedPieceLabel;
+    private Point dragOffset;     // Mouse position relative to the selected square's corner
+    private int selectedSquare = -1;
     private String currentTurn;
     private static Game instance;
 
+    private static final long ANALYSIS_MILLIS = 1000; // Engine thinking time after each move
+    private static final boolean ANALYSIS_ENABLED = Boolean.getBoolean("chess.analysis"); // Opt-in; the engine and its table are only built when set
+
     /**
      * Constructs the Game instance, setting up the GUI and initializing the chessboard.
      * The game starts with the "white" player's turn.
@@ -38,40 +58,30 @@ public class Game {
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setLayout(new BorderLayout());
         frame.setSize(600, 600);
-        frame.setResizable(false);
+        frame.setResizable(true); // The board view scales its squares and sprites to any size
         frame.setLocationRelativeTo(null);
 
 
-        JPanel boardPanel = new JPanel(new GridLayout(8, 8));
-        frame.add(boardPanel, BorderLayout.CENTER);
-
-        PieceMovementHandler pieceHandler = new PieceMovementHandler();
-
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                JPanel squarePanel = new JPanel(new BorderLayout());
-                squarePanel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
-                squarePanel.setBackground((row + col) % 2 == 0 ? lightColor : darkColor);
+        frame.add(boardView, BorderLayout.CENTER);
+        if (ANALYSIS_ENABLED) {
+            analysisLabel.setHorizontalAlignment(SwingConstants.CENTER);
+            frame.add(analysisLabel, BorderLayout.SOUTH);
+        }
 
-                String pieceUnicode = getPieceUnicode(row, col);
-                JLabel pieceLabel = new JLabel(pieceUnicode);
-                pieceLabel.setFont(new Font("Serif", Font.BOLD, 64));
-                pieceLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        // Read the starting position before the executor's worker takes the board over
+        for (int square = 0; square < 64; square++) {
+            shownPieces[square] = board.pieceAt(square);
+        }
 
-                if (!pieceUnicode.isEmpty()) {
-                    squarePanel.add(pieceLabel, BorderLayout.CENTER);
-                }
+        boardView.setPieces(shownPieces);
 
-                squarePanel.addMouseListener(pieceHandler);
-                squarePanel.addMouseMotionListener(pieceHandler);
+        PieceMovementHandler pieceHandler = new PieceMovementHandler();
+        boardView.addMouseListener(pieceHandler);
+        boardView.addMouseMotionListener(pieceHandler);
 
-                boardSquares[row][col] = squarePanel;
-                boardPanel.add(squarePanel);
-            }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("attack.tables", "summary", AttackTables.summary());
         }
-
-        System.out.println("DEBUG: Initial Board Display in Console:");
-        board.displayBoard(); // Initial display for debugging
     }
 
     /**
@@ -79,108 +89,116 @@ public class Game {
      */
     public void start() {
         frame.setVisible(true);
+        startAnalysis();
     }
 
     /**
-     * Executes a move from one square to another, updating the logical and graphical board.
+     * Submits a move from one square to another to the engine executor. The logical and
+     * graphical board are updated when the executor reports back on the event dispatch thread.
      *
      * @param from the starting position of the piece in chess notation (e.g., "E2").
      * @param to   the destination position of the piece in chess notation (e.g., "E4").
      */
     private void executeMove(String from, String to) {
-        System.out.println("DEBUG: Current turn is " + currentTurn);
-        System.out.println("DEBUG: Requested move from " + from + " to " + to);
+        if (moveInFlight) {
+            LOG.debug("move.ignored", "from", from, "to", to); // Previous move still being checked
+            return;
+        }
+        LOG.debug("move.requested", "from", from, "to", to);
 
-        Piece movingPiece = board.getPieceAt(Board.parsePosition(from)[0], Board.parsePosition(from)[1]);
+        moveInFlight = true;
+        analysisLabel.setText(" ");
+        engineExecutor.submitMove(from, to, currentTurn, outcome -> onMoveChecked(from, to, outcome));
+    }
 
-        if (board.movePiece(from, to)) {
+    /**
+     * Applies the outcome of a submitted move to the GUI. Runs on the event dispatch thread.
+     *
+     * @param from    the starting position of the piece in chess notation.
+     * @param to      the destination position of the piece in chess notation.
+     * @param outcome the executor's answer.
+     */
+    private void onMoveChecked(String from, String to, EngineExecutor.MoveOutcome outcome) {
+        moveInFlight = false;
+        if (outcome.isAccepted()) {
             // Update GUI after a successful move
-            int[] fromCoords = Board.parsePosition(from);
-            int[] toCoords = Board.parsePosition(to);
-            updateGUI(fromCoords[0], fromCoords[1], toCoords[0], toCoords[1]);
-
-            // Display the updated board state
-            board.displayBoard();
+            shownPieces = outcome.getPieces();
+            boardView.setPieces(shownPieces); // Repaints the squares the move changed
 
             // Check for check or checkmate
             String opponentColor = currentTurn.equals("white") ? "black" : "white";
-            if (board.isKingInCheck(opponentColor)) {
-                if (board.isCheckmate(opponentColor)) {
+            if (outcome.isOpponentInCheck()) {
+                if (outcome.isOpponentCheckmated()) {
                     JOptionPane.showMessageDialog(null, opponentColor + "'s King is in Checkmate!", "Game Over", JOptionPane.INFORMATION_MESSAGE);
-                    board.notifyGameOver(currentTurn); // End the game with the current player as the winner
                 } else {
                     JOptionPane.showMessageDialog(null, opponentColor + "'s King is in Check!", "Check", JOptionPane.WARNING_MESSAGE);
                 }
             }
 
-            // Check other game-ending conditions (e.g., stalemate)
-            checkGameEndingConditions();
-
             // Switch turns
-            currentTurn = currentTurn.equals("white") ? "black" : "white";
-            System.out.println("DEBUG: Turn switched to " + currentTurn);
+            String mover = currentTurn;
+            currentTurn = opponentColor;
+            LOG.debug("turn.switched", "color", currentTurn);
+
+            // Check game-ending conditions (checkmate or stalemate); otherwise let the engine think
+            if (!checkGameEndingConditions(outcome, mover)) {
+                startAnalysis();
+            }
         } else {
             // If the move is invalid and the piece is a king, show a warning message
-            if (movingPiece instanceof King && board.isKingInCheck(movingPiece.getColor())) {
+            if (outcome.isKingMustLeaveCheck()) {
                 JOptionPane.showMessageDialog(null, "Invalid move! The king must move out of check.", "Invalid Move", JOptionPane.ERROR_MESSAGE);
             }
-            System.out.println("DEBUG: Move failed. Not switching turns.");
+            LOG.debug("move.failed", "turn", currentTurn);
+            startAnalysis();
         }
     }
 
     /**
-     * Updates the graphical representation of the board after a move.
-     *
-     * @param fromRow the row index of the starting square.
-     * @param fromCol the column index of the starting square.
-     * @param toRow   the row index of the destination square.
-     * @param toCol   the column index of the destination square.
+     * Asks the engine for the best move in the current position and shows it below the
+     * board, if analysis is enabled.
      */
-    private void updateGUI(int fromRow, int fromCol, int toRow, int toCol) {
-        // Get the piece label from the source square
-        JLabel pieceLabel = (JLabel) boardSquares[fromRow][fromCol].getComponent(0);
-
-        // Remove the piece from the source square
-        boardSquares[fromRow][fromCol].remove(pieceLabel);
-
-        // Add the piece to the target square
-        boardSquares[toRow][toCol].removeAll(); // Clear any existing component
-        boardSquares[toRow][toCol].add(pieceLabel);
-
-        // Repaint and revalidate the source and target squares
-        boardSquares[fromRow][fromCol].revalidate();
-        boardSquares[fromRow][fromCol].repaint();
-        boardSquares[toRow][toCol].revalidate();
-        boardSquares[toRow][toCol].repaint();
-
-        // Ensure the logical board matches the GUI
-        board.displayBoard(); // Debug: Display board in console
+    private void startAnalysis() {
+        if (!ANALYSIS_ENABLED) {
+            return;
+        }
+        analysisLabel.setText("Engine thinking...");
+        engineExecutor.analyze(SearchLimits.timeMillis(ANALYSIS_MILLIS), this::showAnalysis);
     }
 
     /**
-     * Retrieves the Unicode symbol for the piece at a specific board position.
+     * Shows an engine result below the board. Runs on the event dispatch thread.
      *
-     * @param row the row index of the square.
-     * @param col the column index of the square.
-     * @return the Unicode symbol of the piece, or an empty string if the square is empty.
+     * @param result the search result.
      */
-    private String getPieceUnicode(int row, int col) {
-        String position = Board.convertToChessNotation(row, col); // Convert array indices to chess notation
-        Piece piece = board.getPieceAt(row, col); // Retrieve the piece at the given position
-        return piece != null ? piece.getUnicode() : ""; // Return its Unicode or empty if no piece
+    private void showAnalysis(SearchResult result) {
+        if (result == null || result.getBestMove() == Move.NONE) {
+            analysisLabel.setText(" ");
+            return;
+        }
+        String score = result.isMateScore()
+                ? (result.getScore() > 0 ? "mating" : "getting mated")
+                : String.format("%+.2f", result.getScore() / 100.0);
+        analysisLabel.setText(String.format("Engine suggests %s for %s (%s, depth %d, %,d nodes/s)",
+                Move.toString(result.getBestMove()), currentTurn, score, result.getDepth(), result.getNodesPerSecond()));
     }
 
     /**
      * Checks for game-ending conditions (checkmate or stalemate) and notifies the players.
+     *
+     * @param outcome the outcome of the move just played.
+     * @param mover   the color that played the move.
+     * @return true if the game is over; false otherwise.
      */
-    private void checkGameEndingConditions() {
-        String opponentColor = currentTurn.equals("white") ? "black" : "white";
-
-        if (board.isCheckmate(opponentColor)) {
-            board.notifyGameOver(currentTurn); // Notify the winner
-        } else if (board.isStalemate(opponentColor)) {
+    private boolean checkGameEndingConditions(EngineExecutor.MoveOutcome outcome, String mover) {
+        if (outcome.isOpponentCheckmated()) {
+            board.notifyGameOver(mover); // Notify the winner
+            return true;
+        } else if (outcome.isOpponentStalemated()) {
             notifyStalemate(); // Notify if it's a stalemate
+            return true;
         }
+        return false;
     }
 
     /**
@@ -191,8 +209,7 @@ public class Game {
         int choice = JOptionPane.showConfirmDialog(null, message, "Game Over", JOptionPane.YES_NO_OPTION);
 
         if (choice == JOptionPane.YES_OPTION) {
-            board.resetBoard();
-            resetGUI();
+            resetGame();
         } else {
             System.exit(0); // Exit the game
         }
@@ -202,28 +219,11 @@ public class Game {
      * Resets the graphical user interface to match the initial state of the chessboard.
      */
     public void resetGUI() {
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                JPanel squarePanel = boardSquares[row][col];
-                squarePanel.removeAll(); // Clear any existing pieces
-
-                // Get the updated piece from the logical board
-                String pieceUnicode = getPieceUnicode(row, col);
-                if (!pieceUnicode.isEmpty()) {
-                    JLabel pieceLabel = new JLabel(pieceUnicode);
-                    pieceLabel.setFont(new Font("Serif", Font.BOLD, 64));
-                    pieceLabel.setHorizontalAlignment(SwingConstants.CENTER);
-                    squarePanel.add(pieceLabel); // Add the piece to the GUI square
-                }
-
-                squarePanel.revalidate();
-                squarePanel.repaint();
-            }
-        }
+        boardView.setPieces(shownPieces); // Repaints every square whose piece differs from the start
 
         // Reset the turn to white
         currentTurn = "white";
-        System.out.println("DEBUG: GUI has been reset.");
+        LOG.debug("gui.reset");
     }
 
     /**
@@ -239,16 +239,20 @@ public class Game {
      * Resets the game to its initial state, including the board and GUI.
      */
     public void resetGame() {
-        board.resetBoard(); // Reset the logical board
-        resetGUI();         // Reset the GUI
+        moveInFlight = false;
         currentTurn = "white"; // Reset the turn to white
-        System.out.println("DEBUG: Game has been reset. Turn set to white.");
+        engineExecutor.reset(pieces -> { // Reset the logical board off the event dispatch thread
+            shownPieces = pieces;
+            resetGUI(); // Reset the GUI
+            startAnalysis();
+        });
+        LOG.debug("game.reset");
     }
 
     /**
      * Inner class to handle mouse interactions for moving chess pieces.
-     * It listens for mouse events such as press, release, and drag, and updates
-     * the board and GUI accordingly.
+     * It listens for mouse events such as press, release, and drag on the board view,
+     * and updates the board and GUI accordingly.
      */
     private class PieceMovementHandler extends MouseAdapter {
         /**
@@ -259,77 +263,55 @@ public class Game {
          */
         @Override
         public void mousePressed(MouseEvent e) {
-            JPanel sourceSquare = (JPanel) e.getComponent();
-            String position = getSquarePosition(sourceSquare);
-
-           
-            if(selected){ // piece is already selected and we click on a square
-                if(sourceSquare != selectedSquarePanel){
-                    String fromPosition = getSquarePosition(selectedSquarePanel);
-                    executeMove(fromPosition, position);
+            int square = boardView.squareAt(e.getX(), e.getY());
+
+            if (selected) { // piece is already selected and we click on a square
+                if (square >= 0 && square != selectedSquare) {
+                    executeMove(Bitboards.squareName(selectedSquare), Bitboards.squareName(square));
                 }
                 // Reset selection
-                resetSquareColor(selectedSquarePanel);
-                selected = false;
-                selectedPieceLabel = null;
-                selectedSquarePanel = null;
-            }
-            else {
-                if(sourceSquare.getComponentCount()>0){
-                    Piece piece = board.getPieceAt(Board.parsePosition(position)[0], Board.parsePosition(position)[1]);
+                clearSelection();
+            } else if (square >= 0 && shownPieces[square] != Position.EMPTY) {
+                int piece = shownPieces[square];
+                int turnColor = currentTurn.equals("white") ? Position.WHITE : Position.BLACK;
 
-                    if (piece == null || !piece.getColor().equalsIgnoreCase(currentTurn)) {
-                    System.out.println("DEBUG: Not the current player's turn.");
+                if (Position.colorOf(piece) != turnColor) {
+                    LOG.debug("select.rejected", "turn", currentTurn);
                     return;
-                    }
-                    selectedPieceLabel = (JLabel) sourceSquare.getComponent(0);
-                    selectedSquarePanel = sourceSquare;
-
-                    sourceSquare.setBackground(highlightColor);
-
-                    //prepare for dragging
-                    floatingPieceLabel = new JLabel(selectedPieceLabel.getText());
-                    floatingPieceLabel.setFont(new Font("Serif", Font.BOLD, 64));
-                    floatingPieceLabel.setSize(selectedPieceLabel.getSize());
-                    // Calculate drag offset
-                    dragOffset = SwingUtilities.convertPoint(sourceSquare, e.getPoint(), floatingPieceLabel);
-                    dragging = false;  // Dragging not yet active
-                    selected = true;
-
-                    System.out.println("DEBUG: Selected piece: " + selectedPieceLabel.getText());
+                }
+                selectedSquare = square;
+                boardView.setSelectedSquare(square);
+
+                // Prepare for dragging: remember where in the square the piece was grabbed
+                Rectangle bounds = boardView.squareBounds(square);
+                dragOffset = new Point(e.getX() - bounds.x, e.getY() - bounds.y);
+                dragging = false;  // Dragging not yet active
+                selected = true;
+
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("piece.selected", "square", Bitboards.squareName(square));
                 }
             }
         }
 
         /**
-         * Handles mouse drag events to update the location of the piece being dragged.
+         * Handles mouse drag events to move the dragged piece with the cursor. The position
+         * is only recorded here; the drag renderer shows it at the next display frame.
          *
          * @param e Mouse event triggered when the mouse is dragged.
          */
         @Override
         public void mouseDragged(MouseEvent e) {
-            if (selectedPieceLabel != null && !dragging) {
-                dragging = true;
-
-                // Add the floating piece to the layered pane
-                JFrame frame = (JFrame) SwingUtilities.getWindowAncestor(selectedSquarePanel);
-                JLayeredPane layeredPane = frame.getLayeredPane();
-                layeredPane.add(floatingPieceLabel, JLayeredPane.DRAG_LAYER);
+            if (!selected) {
+                return;
             }
-
-            // Update the location of the floating piece label to follow the cursor
+            int x = e.getX() - dragOffset.x;
+            int y = e.getY() - dragOffset.y;
             if (dragging) {
-                JFrame frame = (JFrame) SwingUtilities.getWindowAncestor(e.getComponent());
-                JLayeredPane layeredPane = frame.getLayeredPane();
-
-                Point locationOnScreen = e.getLocationOnScreen();
-                Point locationOnLayeredPane = SwingUtilities.convertPoint(e.getComponent(),
-                        locationOnScreen.x - dragOffset.x,
-                        locationOnScreen.y - dragOffset.y,
-                        layeredPane);
-
-                floatingPieceLabel.setLocation(locationOnLayeredPane);
-                floatingPieceLabel.repaint();
+                dragRenderer.moveTo(x, y);
+            } else {
+                dragging = true;
+                dragRenderer.start(shownPieces[selectedSquare], x, y);
             }
         }
 
@@ -341,131 +323,36 @@ public class Game {
          */
         @Override
         public void mouseReleased(MouseEvent e) {
-            if (dragging) {
-                if (selectedPieceLabel != null && selectedSquarePanel != null) {
-                JPanel targetSquare = findClosestSquare(e.getLocationOnScreen());
-                JLayeredPane layeredPane = frame.getLayeredPane();
-                if (targetSquare != null && selectedSquarePanel != targetSquare) {
-                    String from = getSquarePosition(selectedSquarePanel);
-                    String to = getSquarePosition(targetSquare);
-
-                    System.out.println("DEBUG: Dragging piece from " + from + " to " + to);
+            if (dragging && selected) {
+                int targetSquare = boardView.closestSquareAt(e.getX(), e.getY());
+                if (targetSquare != selectedSquare) {
+                    String from = Bitboards.squareName(selectedSquare);
+                    String to = Bitboards.squareName(targetSquare);
+
+                    LOG.debug("piece.dropped", "from", from, "to", to);
                     executeMove(from, to);
                 } else {
-                    System.out.println("DEBUG: Invalid drop location or no movement detected.");
+                    LOG.debug("piece.dropped", "result", "no movement");
                 }
 
-                // Clear selection and remove floating piece label from layered pane
-                layeredPane.remove(floatingPieceLabel);
-                layeredPane.repaint();
-
-                resetSquareColor(selectedSquarePanel);
-                dragging = false;
-                selected = false;
-                selectedPieceLabel = null;
-                selectedSquarePanel = null;
-                floatingPieceLabel = null;
-            
+                // Clear selection and stop drawing the dragged piece
+                dragRenderer.stop();
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("drag.rendering", "stats", dragRenderer.summary());
                 }
+                clearSelection();
             }
         }
-        
 
         /**
-         * Finds the closest square to the given point on the screen.
-         *
-         * @param point the location of the mouse pointer on the screen.
-         * @return the JPanel representing the closest square, or null if none found.
+         * Clears the selected square and its highlight.
          */
-        private JPanel findClosestSquare(Point point) {
-            JPanel closestSquare = null;
-            double minDistance = Double.MAX_VALUE;
-
-            for (int row = 0; row < 8; row++) {
-                for (int col = 0; col < 8; col++) {
-                    JPanel square = boardSquares[row][col];
-                    Point squareCenter = getSquareCenter(square);
-
-                    double distance = Point.distance(point.x, point.y, squareCenter.x, squareCenter.y);
-                    if (distance < minDistance) {
-                        minDistance = distance;
-                        closestSquare = square;
-                    }
-                }
-            }
-            return closestSquare;
-        }
-
-        /**
-         * Calculates the center point of a square on the board.
-         *
-         * @param square the JPanel representing the square.
-         * @return a Point object representing the center of the square.
-         */
-        private Point getSquareCenter(JPanel square) {
-            Point location = square.getLocationOnScreen();
-            return new Point(location.x + square.getWidth() / 2, location.y + square.getHeight() / 2);
-        }
-
-        /**
-         * Retrieves the chess notation of a given square.
-         *
-         * @param square the JPanel representing the square.
-         * @return the position in chess notation (e.g., "E2"), or null if not found.
-         */
-        private String getSquarePosition(JPanel square) {
-            for (int row = 0; row < 8; row++) {
-                for (int col = 0; col < 8; col++) {
-                    if (boardSquares[row][col] == square) {
-                        return toChessNotation(row, col);
-                    }
-                }
-            }
-            return null;
-        }
-
-        /**
-         * Resets the square to its original state if the drag-and-drop action is invalid.
-         */
-        private void resetSquare() {
-            if (selectedSquarePanel != null && selectedPieceLabel != null) {
-                selectedSquarePanel.add(selectedPieceLabel);
-                selectedSquarePanel.revalidate();
-                selectedSquarePanel.repaint();
-            }
+        private void clearSelection() {
+            boardView.setSelectedSquare(-1);
             dragging = false;
-            selectedPieceLabel = null;
-            selectedSquarePanel = null;
-            floatingPieceLabel = null;
+            selected = false;
+            selectedSquare = -1;
         }
-        private void resetSquareColor(JPanel square) {
-            int row = -1, col = -1;
-            for (int i = 0; i < 8; i++) {
-                for (int j = 0; j < 8; j++) {
-                    if (boardSquares[i][j] == square) {
-                        row = i;
-                        col = j;
-                        break;
-                    }
-                }
-            }
-            if (row != -1 && col != -1) {
-                square.setBackground((row + col) % 2 == 0 ? lightColor : darkColor);
-            }
-        }
-    }
-
-    /**
-     * Converts board indices to chess notation (e.g., 0, 0 -> "A8").
-     *
-     * @param row the row index (0-based).
-     * @param col the column index (0-based).
-     * @return the position in chess notation (e.g., "E2").
-     */
-    private String toChessNotation(int row, int col) {
-        char file = (char) ('A' + col);
-        int rank = 8 - row;
-        return file + String.valueOf(rank);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package ChessGame;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * The PieceSprites class holds the twelve piece glyphs rendered once into images for one
+ * square size and display scale, so drawing a piece is a single image copy instead of
+ * laying out and rasterizing text.
+ *
+ * The images are rendered at the display's pixel density: on a screen scaled by 2 a
+ * 75-pixel square gets 150-pixel images, which are drawn back into the 75 logical pixels
+ * one to one. A set of sprites only fits the size and scale it was rendered for;
+ * {@link #matches} tells the owner when to render a new set, e.g. after the component is
+ * resized or moved to a screen with another scale.
+ *
+ * Each image is cropped to the pixels its glyph covers, so drawing a piece blends only
+ * those pixels and not the transparent rest of the square. The images are created
+ * compatible with the screen's graphics configuration, so Java2D can keep accelerated
+ * copies of them in video memory.
+ */
+public final class PieceSprites {
+    private static final String[] GLYPHS = {"♙", "♘", "♗", "♖", "♕", "♔", "♟", "♞", "♝", "♜", "♛", "♚"};
+    private static final double GLYPH_SCALE = 64.0 / 75.0; // Font size relative to the square size
+
+    private final BufferedImage[] images = new BufferedImage[GLYPHS.length]; // Indexed by piece code
+    private final int[] offsetX = new int[GLYPHS.length]; // Position of each cropped image in the cell, in device pixels
+    private final int[] offsetY = new int[GLYPHS.length];
+    private final int size;
+    private final double scaleX;
+    private final double scaleY;
+
+    /**
+     * Renders the sprites for a square size and display scale.
+     *
+     * @param configuration the screen's graphics configuration, or null for plain ARGB images.
+     * @param size          the square size in logical pixels.
+     * @param scaleX        the horizontal display scale, e.g. 1.0 or 2.0.
+     * @param scaleY        the vertical display scale.
+     * @throws IllegalArgumentException if the size or a scale is not positive.
+     */
+    public PieceSprites(GraphicsConfiguration configuration, int size, double scaleX, double scaleY) {
+        if (size < 1 || scaleX <= 0 || scaleY <= 0) {
+            throw new IllegalArgumentException("Invalid sprite size: " + size + " at scale " + scaleX + "x" + scaleY);
+        }
+        this.size = size;
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+
+        int width = (int) Math.ceil(size * scaleX);
+        int height = (int) Math.ceil(size * scaleY);
+        Font font = new Font("Serif", Font.BOLD, (int) Math.round(size * GLYPH_SCALE));
+        for (int piece = 0; piece < GLYPHS.length; piece++) {
+            BufferedImage cell = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = cell.createGraphics();
+            try {
+                g.scale(scaleX, scaleY);
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+                g.setFont(font);
+                g.setColor(Color.BLACK);
+                FontMetrics metrics = g.getFontMetrics();
+                String glyph = GLYPHS[piece];
+                int x = (size - metrics.stringWidth(glyph)) / 2;
+                int y = (size - metrics.getHeight()) / 2 + metrics.getAscent();
+                g.drawString(glyph, x, y);
+            } finally {
+                g.dispose();
+            }
+            crop(configuration, piece, cell);
+        }
+    }
+
+    // Stores the part of a rendered cell that the glyph covers
+    private void crop(GraphicsConfiguration configuration, int piece, BufferedImage cell) {
+        int minX = cell.getWidth();
+        int minY = cell.getHeight();
+        int maxX = -1;
+        int maxY = -1;
+        for (int y = 0; y < cell.getHeight(); y++) {
+            for (int x = 0; x < cell.getWidth(); x++) {
+                if ((cell.getRGB(x, y) >>> 24) != 0) {
+                    minX = Math.min(minX, x);
+                    maxX = Math.max(maxX, x);
+                    minY = Math.min(minY, y);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+        }
+        if (maxX < 0) { // Nothing drawn, e.g. no font has the glyph
+            minX = minY = maxX = maxY = 0;
+        }
+        int width = maxX - minX + 1;
+        int height = maxY - minY + 1;
+        BufferedImage image = configuration != null
+                ? configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(cell, -minX, -minY, null);
+        } finally {
+            g.dispose();
+        }
+        images[piece] = image;
+        offsetX[piece] = minX;
+        offsetY[piece] = minY;
+    }
+
+    /**
+     * Checks whether these sprites were rendered for a square size and display scale.
+     *
+     * @param size   the square size in logical pixels.
+     * @param scaleX the horizontal display scale.
+     * @param scaleY the vertical display scale.
+     * @return true if the sprites can be drawn at that size and scale; false otherwise.
+     */
+    public boolean matches(int size, double scaleX, double scaleY) {
+        return this.size == size && this.scaleX == scaleX && this.scaleY == scaleY;
+    }
+
+    /**
+     * Draws a piece into a square-sized cell.
+     *
+     * @param g     the graphics to draw with, carrying the display scale in its transform.
+     * @param piece the piece code.
+     * @param x     the x coordinate of the cell's top-left corner.
+     * @param y     the y coordinate of the cell's top-left corner.
+     */
+    public void draw(Graphics g, int piece, int x, int y) {
+        if (scaleX == 1.0 && scaleY == 1.0) {
+            g.drawImage(images[piece], x + offsetX[piece], y + offsetY[piece], null);
+        } else {
+            // Undo the display scale so the image lands on device pixels one to one
+            AffineTransform transform = AffineTransform.getTranslateInstance(x, y);
+            transform.scale(1 / scaleX, 1 / scaleY);
+            transform.translate(offsetX[piece], offsetY[piece]);
+            ((Graphics2D) g).drawImage(images[piece], transform, null);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package ChessGame.analysis;
+
+import ChessGame.Board;
+import ChessGame.bitboard.PackedPosition;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
+import ChessGame.notation.Fen;
+import ChessGame.search.SearchLimits;
+import ChessGame.search.SearchResult;
+import ChessGame.search.Searcher;
+import ChessGame.search.TranspositionTable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * The BatchAnalyzer class runs the same analysis over a large number of positions on
+ * all cores: the number of legal moves, whether the side to move is in check, mated or
+ * stalemated, and a score, either the static evaluation or the result of a fixed-depth
+ * search.
+ *
+ * Positions are read in chunks of {@link #CHUNK_SIZE} and each chunk is analysed as one
+ * task of a {@link ForkJoinPool}. Every pool thread keeps its own {@link Board}, move
+ * list and searcher, so the tasks share nothing. The searcher's table and history are
+ * reset at the start of each chunk, so the results do not depend on which thread ran
+ * which chunk. The thread that calls one of the analyze methods reads the input and
+ * hands the results to the sink, in input order; at most a few chunks per thread are in
+ * flight at once, so memory stays bounded however large the input is, and the sink does
+ * not need to be thread-safe.
+ */
+public final class BatchAnalyzer implements AutoCloseable {
+    /**
+     * The number of positions analysed by one task.
+     */
+    public static final int CHUNK_SIZE = 1024;
+
+    private static final int TABLE_MEGABYTES = 4; // Per thread, only used when searching
+
+    /**
+     * The rule status of an analysed position.
+     */
+    public enum Status {
+        ONGOING, CHECK, CHECKMATE, STALEMATE, INVALID
+    }
+
+    /**
+     * The analysis of one position.
+     */
+    public static final class Result {
+        private final long index;
+        private final String fen;
+        private final Status status;
+        private final int legalMoves;
+        private final int score;
+        private final int bestMove;
+
+        private Result(long index, String fen, Status status, int legalMoves, int score, int bestMove) {
+            this.index = index;
+            this.fen = fen;
+            this.status = status;
+            this.legalMoves = legalMoves;
+            this.score = score;
+            this.bestMove = bestMove;
+        }
+
+        /**
+         * Returns the position's place in the input, counting from 0.
+         *
+         * @return the index.
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * Returns the position in Forsyth-Edwards Notation. For an {@link Status#INVALID}
+         * position it is the input line, or "-" for a packed record.
+         *
+         * @return the FEN string.
+         */
+        public String getFen() {
+            return fen;
+        }
+
+        /**
+         * Returns the rule status of the position.
+         *
+         * @return the status.
+         */
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * Returns the number of legal moves of the side to move.
+         *
+         * @return the number of legal moves.
+         */
+        public int getLegalMoves() {
+            return legalMoves;
+        }
+
+        /**
+         * Returns the score of the position.
+         *
+         * @return the score in centipawns from the side to move's point of view.
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Returns the best move found by the search.
+         *
+         * @return the encoded move, or {@link Move#NONE} without a search or a legal move.
+         */
+        public int getBestMove() {
+            return bestMove;
+        }
+
+        /**
+         * Returns the result as a tab-separated line: index, status, legal moves, score,
+         * best move (or "-") and FEN.
+         *
+         * @return the line.
+         */
+        @Override
+        public String toString() {
+            return index + "\t" + status.name().toLowerCase() + "\t" + legalMoves + "\t" + score + "\t"
+                    + (bestMove == Move.NONE ? "-" : Move.toString(bestMove)) + "\t" + fen;
+        }
+    }
+
+    // One chunk of input; either the FEN lines or the packed positions are set
+    private static final class Chunk {
+        private final long firstIndex;
+        private final String[] fens;
+        private final PackedPosition[] packed;
+        private final int size;
+
+        private Chunk(long firstIndex, String[] fens, PackedPosition[] packed, int size) {
+            this.firstIndex = firstIndex;
+            this.fens = fens;
+            this.packed = packed;
+            this.size = size;
+        }
+    }
+
+    // The state one pool thread analyses with
+    private final class Worker {
+        private final Board board = new Board(Fen.START_POSITION);
+        private final MoveList moves = new MoveList();
+        private final TranspositionTable table = depth > 0
+                ? new TranspositionTable(TABLE_MEGABYTES, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED)
+                : null;
+        private final Searcher searcher = table != null ? new Searcher(table) : null;
+        private long analysed; // Positions this thread has analysed, read by other threads after the chunks are joined
+
+        private Worker() {
+            allWorkers.add(this);
+        }
+
+        // Forgets everything learned from the previous chunk
+        void reset() {
+            if (searcher != null) {
+                table.clear();
+                searcher.clearHistory();
+            }
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int depth;
+    private final int maxPendingChunks;
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+    private final Queue<Worker> allWorkers = new ConcurrentLinkedQueue<>(); // Every worker created, one per pool thread
+    private final AtomicBoolean stop = new AtomicBoolean(); // Never raised; searches end at their depth
+
+    /**
+     * Creates an analyzer.
+     *
+     * @param threads the number of pool threads.
+     * @param depth   the search depth for the score, or 0 for the static evaluation.
+     * @throws IllegalArgumentException if the thread count is not positive or the depth is out of range.
+     */
+    public BatchAnalyzer(int threads, int depth) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        if (depth < 0 || depth > SearchLimits.MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth out of range: " + depth);
+        }
+        this.pool = new ForkJoinPool(threads);
+        this.depth = depth;
+        this.maxPendingChunks = 4 * threads;
+    }
+
+    /**
+     * Analyses positions given one per line in FEN or EPD. Blank lines and lines starting
+     * with '#' are skipped; lines that are not valid FEN give an {@link Status#INVALID} result.
+     *
+     * @param in   the input, read to its end.
+     * @param sink called on this thread with each result, in input order.
+     * @return the number of positions analysed.
+     * @throws IOException if reading fails.
+     */
+    public long analyzeFens(BufferedReader in, Consumer<Result> sink) throws IOException {
+        ArrayDeque<ForkJoinTask<Result[]>> pending = new ArrayDeque<>();
+        long index = 0;
+        String[] fens = new String[CHUNK_SIZE];
+        int size = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            fens[size++] = line;
+            if (size == CHUNK_SIZE) {
+                submit(new Chunk(index, fens, null, size), pending, sink);
+                index += size;
+                fens = new String[CHUNK_SIZE];
+                size = 0;
+            }
+        }
+        if (size > 0) {
+            submit(new Chunk(index, fens, null, size), pending, sink);
+            index += size;
+        }
+        drain(pending, 0, sink);
+        return index;
+    }
+
+    /**
+     * Analyses positions stored back to back as {@link PackedPosition#BYTES}-byte records
+     * written by {@link PackedPosition#writeTo(ByteBuffer)}. Records that are corrupt or
+     * describe an impossible position give an {@link Status#INVALID} result.
+     *
+     * @param in   the input, read to its end.
+     * @param sink called on this thread with each result, in input order.
+     * @return the number of positions analysed.
+     * @throws IOException if reading fails or the input ends inside a record.
+     */
+    public long analyzePacked(ReadableByteChannel in, Consumer<Result> sink) throws IOException {
+        ArrayDeque<ForkJoinTask<Result[]>> pending = new ArrayDeque<>();
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE * PackedPosition.BYTES);
+        long index = 0;
+        while (true) {
+            buffer.clear();
+            fill(in, buffer);
+            buffer.flip();
+            if (buffer.remaining() % PackedPosition.BYTES != 0) {
+                throw new IOException("Input ends inside a position record");
+            }
+            int size = buffer.remaining() / PackedPosition.BYTES;
+            if (size == 0) {
+                break;
+            }
+            PackedPosition[] packed = new PackedPosition[size];
+            for (int i = 0; i < size; i++) {
+                packed[i] = new PackedPosition();
+                packed[i].readFrom(buffer);
+            }
+            submit(new Chunk(index, null, packed, size), pending, sink);
+            index += size;
+            if (size < CHUNK_SIZE) {
+                break;
+            }
+        }
+        drain(pending, 0, sink);
+        return index;
+    }
+
+    /**
+     * Returns the number of pool threads.
+     *
+     * @return the number of threads.
+     */
+    public int threads() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Returns how many positions each pool thread has analysed since the analyzer was
+     * created, one count per thread that has run at least one chunk. Meant to be called
+     * between analyze calls; while one runs the counts may lag.
+     *
+     * @return the counts, in no particular order.
+     */
+    public long[] positionsPerThread() {
+        return allWorkers.stream().mapToLong(worker -> worker.analysed).toArray();
+    }
+
+    /**
+     * Shuts the pool down.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    // Reads until the buffer is full or the input ends
+    private static void fill(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                return;
+            }
+        }
+    }
+
+    // Starts a chunk, first handing finished chunks to the sink while too many are in flight
+    private void submit(Chunk chunk, ArrayDeque<ForkJoinTask<Result[]>> pending, Consumer<Result> sink) {
+        drain(pending, maxPendingChunks - 1, sink);
+        pending.addLast(pool.submit(() -> analyze(chunk)));
+    }
+
+    // Waits for the oldest chunks in order until at most the given number are in flight
+    private static void drain(ArrayDeque<ForkJoinTask<Result[]>> pending, int keep, Consumer<Result> sink) {
+        while (pending.size() > keep) {
+            for (Result result : pending.removeFirst().join()) {
+                sink.accept(result);
+            }
+        }
+    }
+
+    // Runs on a pool thread
+    private Result[] analyze(Chunk chunk) {
+        Worker worker = workers.get();
+        worker.reset();
+        Result[] results = new Result[chunk.size];
+        for (int i = 0; i < chunk.size; i++) {
+            long index = chunk.firstIndex + i;
+            String fen;
+            if (chunk.fens != null) {
+                fen = chunk.fens[i];
+                try {
+                    worker.board.loadFen(fen);
+                } catch (IllegalArgumentException e) {
+                    results[i] = new Result(index, fen, Status.INVALID, 0, 0, Move.NONE);
+                    continue;
+                }
+            } else {
+                try {
+                    worker.board.load(chunk.packed[i]);
+                } catch (IllegalArgumentException e) {
+                    results[i] = new Result(index, "-", Status.INVALID, 0, 0, Move.NONE);
+                    continue;
+                }
+                fen = worker.board.toFen();
+            }
+            results[i] = analyze(worker, index, fen);
+        }
+        worker.analysed += chunk.size;
+        return results;
+    }
+
+    // Analyses the position on the worker's board
+    private Result analyze(Worker worker, long index, String fen) {
+        Board board = worker.board;
+        worker.moves.clear();
+        board.generateLegalMoves(worker.moves);
+        int legalMoves = worker.moves.size();
+        boolean inCheck = board.isInCheck();
+        if (legalMoves == 0) {
+            return inCheck ? new Result(index, fen, Status.CHECKMATE, 0, -Searcher.MATE, Move.NONE)
+                    : new Result(index, fen, Status.STALEMATE, 0, 0, Move.NONE);
+        }
+        Status status = inCheck ? Status.CHECK : Status.ONGOING;
+        if (worker.searcher == null) {
+            return new Result(index, fen, status, legalMoves, board.evaluate(), Move.NONE);
+        }
+        worker.table.newSearch(); // Entries from earlier positions give way to this one's
+        SearchResult search = worker.searcher.search(board, SearchLimits.depth(depth), stop, null);
+        return new Result(index, fen, status, legalMoves, search.getScore(), search.getBestMove());
+    }
+}
@@ -0,0 +1,304 @@
+package ChessGame.bitboard;
+
+/**
+ * The AttackTables class holds attack sets that are computed once at class load time
+ * and then answered by table lookups.
+ *
+ * Knight, king and pawn attacks are stored per square. Rook and bishop attacks use
+ * magic bitboards: the occupancy of the squares that can block a slider is multiplied
+ * by a per-square magic number, and the top bits of the product index a table of
+ * precomputed attack sets. The magic numbers below were found offline by a seeded random
+ * search; filling the tables at startup checks that none of them collide.
+ * {@link #initializationNanos()} and {@link #memoryBytes()} report what the tables cost.
+ *
+ * For pin and check detection the class also stores, for every pair of squares on a
+ * common rank, file or diagonal, the squares strictly between them and the full line
+ * through them.
+ */
+public final class AttackTables {
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[][] PAWN = new long[2][64];
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] ROOK_OFFSETS = new int[64];
+    private static final long[] ROOK_ATTACKS;
+
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];
+    private static final long[] BISHOP_ATTACKS;
+
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    private static final long INITIALIZATION_NANOS;
+
+    private static final long[] ROOK_MAGICS = {
+            0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L, 0x0880100008000480L,
+            0x4200100420080200L, 0x8100020100080400L, 0x0200040110886200L, 0x0200008040220411L,
+            0x0404800084400220L, 0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+            0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L, 0x0442000102105084L,
+            0x9080010020804100L, 0x0040404000201009L, 0x0000808010002009L, 0x2200090021D00100L,
+            0x0008008008040080L, 0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+            0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L, 0x1000100080080080L,
+            0x0050500500080100L, 0x0000020080040080L, 0x0C10010400420810L, 0x1040008200005104L,
+            0x01808240088004A0L, 0x0882804004802000L, 0x0880402001001100L, 0x2000210409001000L,
+            0x2000480131001500L, 0x0000800400800200L, 0x000002380C001003L, 0x4600084882000431L,
+            0x0080002000504000L, 0x0300500020004002L, 0x0040408200220011L, 0x0010040008004040L,
+            0x0000080004008080L, 0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+            0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L, 0x0801100280080480L,
+            0x0242009008200600L, 0x1002000489500200L, 0x0040800200010080L, 0x0091800041000080L,
+            0x0000209300488001L, 0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+            0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L, 0x4000002840840112L
+    };
+    private static final long[] BISHOP_MAGICS = {
+            0x20C0090901061081L, 0x0024040094030104L, 0x8210810200290200L, 0x0011040484620000L,
+            0x0081104002221000L, 0x0009012011001350L, 0x0081010802400380L, 0x0000420210010408L,
+            0x0008105002280050L, 0x0001028484040044L, 0x2A00880810408804L, 0x7020022282000100L,
+            0x0084040420100A50L, 0x000401010840E000L, 0x2020020210420888L, 0x0008084202012010L,
+            0x2010400810018800L, 0x0445122008020840L, 0x0804100808002008L, 0x0008002104110100L,
+            0x0061005820080800L, 0x2001000200820100L, 0x480C210084010800L, 0x3004442500480420L,
+            0x1010102240048100L, 0x00182009084220A3L, 0x8803090A10004205L, 0x0208080040202020L,
+            0x000C044084010040L, 0x00A1010002004106L, 0x6008210020640202L, 0x1600902112860801L,
+            0x00042008C1220200L, 0x010C042002440140L, 0x5022080200040820L, 0x0402004042940100L,
+            0x0860108400008020L, 0x000C080022021000L, 0x0264080652822100L, 0x4005031221010401L,
+            0x0004502410008400L, 0x000500B010A20400L, 0x0415094050080800L, 0x080000201800A104L,
+            0x4022A80304000110L, 0x4012140802028020L, 0x40200104010100A0L, 0x12810806008B0C41L,
+            0x0020441008080000L, 0x2002120084045420L, 0x0704020062080002L, 0x0000001084040001L,
+            0x0322200891240200L, 0xF040200210024800L, 0x0140824832008042L, 0x000210020A004602L,
+            0x0083042805141020L, 0x002C12009A011000L, 0x0041A00044140400L, 0x00004004020A0202L,
+            0x0000140010020210L, 0x2864160811012200L, 0x2060080841082A17L, 0xA010041108003100L
+    };
+
+    static {
+        long start = System.nanoTime();
+
+        for (int square = 0; square < 64; square++) {
+            KNIGHT[square] = Bitboards.knightAttacks(square);
+            KING[square] = Bitboards.kingAttacks(square);
+            PAWN[Position.WHITE][square] = Bitboards.pawnAttacks(Position.WHITE, square);
+            PAWN[Position.BLACK][square] = Bitboards.pawnAttacks(Position.BLACK, square);
+            ROOK_MASKS[square] = rookMask(square);
+            BISHOP_MASKS[square] = bishopMask(square);
+        }
+
+        ROOK_ATTACKS = new long[layout(ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS)];
+        BISHOP_ATTACKS = new long[layout(BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS)];
+        for (int square = 0; square < 64; square++) {
+            fillSliderTable(square, true);
+            fillSliderTable(square, false);
+        }
+
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b) {
+                    continue;
+                }
+                long ends = Bitboards.bit(a) | Bitboards.bit(b);
+                if ((Bitboards.rookAttacks(a, 0L) & Bitboards.bit(b)) != 0) {
+                    BETWEEN[a][b] = Bitboards.rookAttacks(a, ends) & Bitboards.rookAttacks(b, ends);
+                    LINE[a][b] = (Bitboards.rookAttacks(a, 0L) & Bitboards.rookAttacks(b, 0L)) | ends;
+                } else if ((Bitboards.bishopAttacks(a, 0L) & Bitboards.bit(b)) != 0) {
+                    BETWEEN[a][b] = Bitboards.bishopAttacks(a, ends) & Bitboards.bishopAttacks(b, ends);
+                    LINE[a][b] = (Bitboards.bishopAttacks(a, 0L) & Bitboards.bishopAttacks(b, 0L)) | ends;
+                }
+            }
+        }
+
+        INITIALIZATION_NANOS = System.nanoTime() - start;
+    }
+
+    private AttackTables() {
+    }
+
+    /**
+     * Returns the squares a knight on the given square attacks.
+     *
+     * @param square the square index.
+     * @return the attack bitboard.
+     */
+    public static long knight(int square) {
+        return KNIGHT[square];
+    }
+
+    /**
+     * Returns the squares a king on the given square attacks.
+     *
+     * @param square the square index.
+     * @return the attack bitboard.
+     */
+    public static long king(int square) {
+        return KING[square];
+    }
+
+    /**
+     * Returns the squares a pawn of the given color on the given square attacks.
+     *
+     * @param color  the pawn's color.
+     * @param square the square index.
+     * @return the attack bitboard.
+     */
+    public static long pawn(int color, int square) {
+        return PAWN[color][square];
+    }
+
+    /**
+     * Returns the squares a rook on the given square attacks.
+     *
+     * @param square   the square index.
+     * @param occupied the bitboard of all occupied squares.
+     * @return the attack bitboard, including the first blocker on each ray.
+     */
+    public static long rook(int square, long occupied) {
+        int index = (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+        return ROOK_ATTACKS[ROOK_OFFSETS[square] + index];
+    }
+
+    /**
+     * Returns the squares a bishop on the given square attacks.
+     *
+     * @param square   the square index.
+     * @param occupied the bitboard of all occupied squares.
+     * @return the attack bitboard, including the first blocker on each ray.
+     */
+    public static long bishop(int square, long occupied) {
+        int index = (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+        return BISHOP_ATTACKS[BISHOP_OFFSETS[square] + index];
+    }
+
+    /**
+     * Returns the squares a queen on the given square attacks.
+     *
+     * @param square   the square index.
+     * @param occupied the bitboard of all occupied squares.
+     * @return the attack bitboard, including the first blocker on each ray.
+     */
+    public static long queen(int square, long occupied) {
+        return rook(square, occupied) | bishop(square, occupied);
+    }
+
+    /**
+     * Returns the squares strictly between two squares on a common rank, file or diagonal.
+     *
+     * @param a the first square.
+     * @param b the second square.
+     * @return the bitboard of squares between them, or 0 if they are not aligned or adjacent.
+     */
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    /**
+     * Returns the full rank, file or diagonal through two squares.
+     *
+     * @param a the first square.
+     * @param b the second square.
+     * @return the bitboard of the whole line, or 0 if the squares are not aligned.
+     */
+    public static long line(int a, int b) {
+        return LINE[a][b];
+    }
+
+    /**
+     * Returns how long building the tables took when the class was loaded.
+     *
+     * @return the initialization time in nanoseconds.
+     */
+    public static long initializationNanos() {
+        return INITIALIZATION_NANOS;
+    }
+
+    /**
+     * Returns the approximate heap size of all lookup tables.
+     *
+     * @return the table memory in bytes.
+     */
+    public static long memoryBytes() {
+        long longs = KNIGHT.length + KING.length + 2L * 64
+                + 2L * 64 * 2 // Masks and magics for both sliders
+                + ROOK_ATTACKS.length + BISHOP_ATTACKS.length
+                + 2L * 64 * 64; // Between and line tables
+        long ints = 4L * 64; // Shifts and offsets for both sliders
+        return longs * Long.BYTES + ints * Integer.BYTES;
+    }
+
+    /**
+     * Returns a one-line report of the table startup cost and memory.
+     *
+     * @return the report.
+     */
+    public static String summary() {
+        return String.format("Attack tables: %.1f ms to initialize, %d KB (rook %d entries, bishop %d entries)",
+                INITIALIZATION_NANOS / 1_000_000.0, memoryBytes() / 1024,
+                ROOK_ATTACKS.length, BISHOP_ATTACKS.length);
+    }
+
+    /**
+     * Computes the shift and table offset of every square from its mask.
+     *
+     * @return the total number of table entries.
+     */
+    private static int layout(long[] masks, int[] shifts, int[] offsets) {
+        int size = 0;
+        for (int square = 0; square < 64; square++) {
+            int bits = Long.bitCount(masks[square]);
+            shifts[square] = 64 - bits;
+            offsets[square] = size;
+            size += 1 << bits;
+        }
+        return size;
+    }
+
+    /**
+     * Fills one square's part of a slider table by enumerating every subset of its
+     * blocker mask.
+     *
+     * @throws IllegalStateException if two subsets with different attacks share a slot.
+     */
+    private static void fillSliderTable(int square, boolean rook) {
+        long mask = rook ? ROOK_MASKS[square] : BISHOP_MASKS[square];
+        long magic = rook ? ROOK_MAGICS[square] : BISHOP_MAGICS[square];
+        int shift = rook ? ROOK_SHIFTS[square] : BISHOP_SHIFTS[square];
+        int offset = rook ? ROOK_OFFSETS[square] : BISHOP_OFFSETS[square];
+        long[] table = rook ? ROOK_ATTACKS : BISHOP_ATTACKS;
+        boolean[] filled = new boolean[1 << (64 - shift)];
+
+        long subset = 0L;
+        do {
+            long attacks = rook ? Bitboards.rookAttacks(square, subset) : Bitboards.bishopAttacks(square, subset);
+            int index = (int) ((subset * magic) >>> shift);
+            if (filled[index] && table[offset + index] != attacks) {
+                throw new IllegalStateException("Magic number collision on square " + Bitboards.squareName(square));
+            }
+            filled[index] = true;
+            table[offset + index] = attacks;
+            subset = (subset - mask) & mask; // Next subset of the mask
+        } while (subset != 0);
+    }
+
+    // Squares that can block a rook, without the board edges the rays end on
+    private static long rookMask(int square) {
+        long mask = 0L;
+        int rank = square >>> 3;
+        int file = square & 7;
+        for (int r = rank + 1; r < 7; r++) mask |= Bitboards.bit(r * 8 + file);
+        for (int r = rank - 1; r > 0; r--) mask |= Bitboards.bit(r * 8 + file);
+        for (int f = file + 1; f < 7; f++) mask |= Bitboards.bit(rank * 8 + f);
+        for (int f = file - 1; f > 0; f--) mask |= Bitboards.bit(rank * 8 + f);
+        return mask;
+    }
+
+    // Squares that can block a bishop, without the board edges the rays end on
+    private static long bishopMask(int square) {
+        long mask = 0L;
+        int rank = square >>> 3;
+        int file = square & 7;
+        for (int r = rank + 1, f = file + 1; r < 7 && f < 7; r++, f++) mask |= Bitboards.bit(r * 8 + f);
+        for (int r = rank + 1, f = file - 1; r < 7 && f > 0; r++, f--) mask |= Bitboards.bit(r * 8 + f);
+        for (int r = rank - 1, f = file + 1; r > 0 && f < 7; r--, f++) mask |= Bitboards.bit(r * 8 + f);
+        for (int r = rank - 1, f = file - 1; r > 0 && f > 0; r--, f--) mask |= Bitboards.bit(r * 8 + f);
+        return mask;
+    }
+}
@@ -0,0 +1,195 @@
+package ChessGame.bitboard;
+
+/**
+ * The Bitboards class holds static helpers for working with 64-bit bitboards.
+ * Squares are numbered from 0 (A1) to 63 (H8), rank by rank, so bit {@code n} of a
+ * bitboard stands for square {@code n}. The GUI and the Piece[][] view use rows and
+ * columns instead, with row 0 being rank 8; {@link #square(int, int)}, {@link #row(int)}
+ * and {@link #col(int)} convert between the two.
+ *
+ * The attack methods here compute their result square by square. They are the reference
+ * used to build {@link AttackTables}, which the move generators use instead.
+ */
+public final class Bitboards {
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long RANK_1 = 0xFFL;
+    public static final long RANK_2 = RANK_1 << 8;
+    public static final long RANK_7 = RANK_1 << 48;
+    public static final long RANK_8 = RANK_1 << 56;
+
+    private static final int[][] KNIGHT_OFFSETS = {
+            {2, 1}, {2, -1}, {1, 2}, {1, -2},
+            {-1, 2}, {-1, -2}, {-2, 1}, {-2, -1}
+    };
+    private static final int[][] KING_OFFSETS = {
+            {1, -1}, {1, 0}, {1, 1},
+            {0, -1},         {0, 1},
+            {-1, -1}, {-1, 0}, {-1, 1}
+    };
+
+    private Bitboards() {
+    }
+
+    /**
+     * Converts board indices (row 0 = rank 8) to a square index.
+     *
+     * @param row the row index (0-based).
+     * @param col the column index (0-based).
+     * @return the square index, 0 (A1) to 63 (H8).
+     */
+    public static int square(int row, int col) {
+        return (7 - row) * 8 + col;
+    }
+
+    /**
+     * Returns the row index (row 0 = rank 8) of a square.
+     *
+     * @param square the square index.
+     * @return the row index.
+     */
+    public static int row(int square) {
+        return 7 - (square >>> 3);
+    }
+
+    /**
+     * Returns the column index of a square.
+     *
+     * @param square the square index.
+     * @return the column index.
+     */
+    public static int col(int square) {
+        return square & 7;
+    }
+
+    /**
+     * Returns a bitboard with only the given square set.
+     *
+     * @param square the square index.
+     * @return the single-bit bitboard.
+     */
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    /**
+     * Parses a square in chess notation (e.g., "E2" or "e2") without allocating.
+     *
+     * @param notation the chess notation string.
+     * @return the square index, or -1 if the notation is not a valid square.
+     */
+    public static int parseSquare(String notation) {
+        if (notation == null || notation.length() < 2) {
+            return -1;
+        }
+        int file = Character.toUpperCase(notation.charAt(0)) - 'A';
+        int rank = notation.charAt(1) - '1';
+        if (file < 0 || file > 7 || rank < 0 || rank > 7) {
+            return -1;
+        }
+        return rank * 8 + file;
+    }
+
+    /**
+     * Returns the chess notation of a square (e.g., 12 -> "E2").
+     *
+     * @param square the square index.
+     * @return the square in chess notation.
+     */
+    public static String squareName(int square) {
+        return "" + (char) ('A' + (square & 7)) + (char) ('1' + (square >>> 3));
+    }
+
+    /**
+     * Returns the squares a knight on the given square attacks.
+     *
+     * @param square the square index.
+     * @return the attack bitboard.
+     */
+    public static long knightAttacks(int square) {
+        return offsetAttacks(square, KNIGHT_OFFSETS);
+    }
+
+    /**
+     * Returns the squares a king on the given square attacks.
+     *
+     * @param square the square index.
+     * @return the attack bitboard.
+     */
+    public static long kingAttacks(int square) {
+        return offsetAttacks(square, KING_OFFSETS);
+    }
+
+    /**
+     * Returns the squares a pawn of the given color on the given square attacks.
+     *
+     * @param color  the pawn's color ({@link Position#WHITE} or {@link Position#BLACK}).
+     * @param square the square index.
+     * @return the attack bitboard.
+     */
+    public static long pawnAttacks(int color, int square) {
+        long pawn = bit(square);
+        if (color == Position.WHITE) {
+            return ((pawn & ~FILE_A) << 7) | ((pawn & ~FILE_H) << 9);
+        }
+        return ((pawn & ~FILE_H) >>> 7) | ((pawn & ~FILE_A) >>> 9);
+    }
+
+    /**
+     * Returns the squares a rook on the given square attacks, stopping at the first
+     * occupied square along each ray.
+     *
+     * @param square   the square index.
+     * @param occupied the bitboard of all occupied squares.
+     * @return the attack bitboard.
+     */
+    public static long rookAttacks(int square, long occupied) {
+        return ray(square, occupied, 1, 0) | ray(square, occupied, -1, 0)
+                | ray(square, occupied, 0, 1) | ray(square, occupied, 0, -1);
+    }
+
+    /**
+     * Returns the squares a bishop on the given square attacks, stopping at the first
+     * occupied square along each ray.
+     *
+     * @param square   the square index.
+     * @param occupied the bitboard of all occupied squares.
+     * @return the attack bitboard.
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        return ray(square, occupied, 1, 1) | ray(square, occupied, 1, -1)
+                | ray(square, occupied, -1, 1) | ray(square, occupied, -1, -1);
+    }
+
+    // Walks one ray from the square, including the first blocker
+    private static long ray(int square, long occupied, int rankStep, int fileStep) {
+        long attacks = 0L;
+        int rank = (square >>> 3) + rankStep;
+        int file = (square & 7) + fileStep;
+        while (rank >= 0 && rank < 8 && file >= 0 && file < 8) {
+            long target = bit(rank * 8 + file);
+            attacks |= target;
+            if ((occupied & target) != 0) {
+                break;
+            }
+            rank += rankStep;
+            file += fileStep;
+        }
+        return attacks;
+    }
+
+    // Collects the on-board squares reached by a set of fixed offsets
+    private static long offsetAttacks(int square, int[][] offsets) {
+        long attacks = 0L;
+        int rank = square >>> 3;
+        int file = square & 7;
+        for (int[] offset : offsets) {
+            int newRank = rank + offset[0];
+            int newFile = file + offset[1];
+            if (newRank >= 0 && newRank < 8 && newFile >= 0 && newFile < 8) {
+                attacks |= bit(newRank * 8 + newFile);
+            }
+        }
+        return attacks;
+    }
+}
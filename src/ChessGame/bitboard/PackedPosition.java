@@ -0,0 +1,249 @@
+package ChessGame.bitboard;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The PackedPosition class stores a position in as little memory as possible, for
+ * holding many games that are not being worked on.
+ *
+ * Each square is a 4-bit nibble holding the piece code plus one (0 for an empty
+ * square), sixteen squares to a long, and a single state word holds the side to move,
+ * the castling rights, the en-passant square and the move counters. With the object
+ * header that comes to 48 bytes on a 64-bit JVM with compressed references, against
+ * several hundred bytes for a {@link Position} with its bitboards, lookup table and
+ * arrays. The same layout, without the header, is used for binary position files.
+ *
+ * A packed position cannot answer rule queries. It is unpacked into a working
+ * {@link Position}, e.g. with {@link ChessGame.Board#load(PackedPosition)}, and packed
+ * again after the moves have been played.
+ *
+ * The move counters have 8 and 12 bits, so packing caps the halfmove clock at 255 and
+ * the fullmove number at 4095. Both are far beyond any real game (the fifty-move rule
+ * is reached at 100 half moves), but a position with larger counters does not round-trip.
+ * Unpacking checks the data, which may come from a file, before any of it reaches the
+ * rules engine.
+ */
+public final class PackedPosition {
+    /**
+     * The size of a packed position in binary files: the four square words and the state word.
+     */
+    public static final int BYTES = 4 * Long.BYTES + Integer.BYTES;
+
+    private long squares0; // A1..H2, four bits per square
+    private long squares1; // A3..H4
+    private long squares2; // A5..H6
+    private long squares3; // A7..H8
+    private int state;     // Bit 0 side to move, bits 1-4 castling rights, bits 5-11 en-passant square + 1,
+                           // bits 12-19 halfmove clock, bits 20-31 fullmove number
+
+    /**
+     * Creates an empty position with white to move.
+     */
+    public PackedPosition() {
+    }
+
+    /**
+     * Creates a packed copy of a position.
+     *
+     * @param position the position to pack.
+     */
+    public PackedPosition(Position position) {
+        copyFrom(position);
+    }
+
+    /**
+     * Replaces the contents with a packed copy of a position. The halfmove clock is
+     * capped at 255 and the fullmove number at 4095 to fit their bit fields.
+     *
+     * @param position the position to pack.
+     */
+    public void copyFrom(Position position) {
+        squares0 = packWord(position, 0);
+        squares1 = packWord(position, 16);
+        squares2 = packWord(position, 32);
+        squares3 = packWord(position, 48);
+        state = position.sideToMove()
+                | (position.castlingRights() << 1)
+                | ((position.enPassantSquare() + 1) << 5)
+                | (Math.min(position.halfmoveClock(), 0xFF) << 12)     // Capped to fit 8 bits
+                | (Math.min(position.fullmoveNumber(), 0xFFF) << 20); // Capped to fit 12 bits
+    }
+
+    /**
+     * Replaces the contents of a position with this packed position. The position's
+     * hash and evaluation sums are rebuilt as the pieces are placed.
+     *
+     * Piece codes and the en-passant square are checked before the position is touched,
+     * and the unpacked position is checked with {@link Position#validationError()}. If
+     * either check fails the contents of the position are undefined;
+     * {@link ChessGame.Board#load(PackedPosition)} unpacks into a scratch position first
+     * and leaves the board unchanged instead.
+     *
+     * @param position the position to load into.
+     * @throws IllegalArgumentException if a square holds an unknown piece code, the
+     *                                  en-passant square is off the board, or the
+     *                                  position is impossible.
+     */
+    public void unpack(Position position) {
+        if (hasBadNibble(squares0) || hasBadNibble(squares1) || hasBadNibble(squares2) || hasBadNibble(squares3)) {
+            throw new IllegalArgumentException("Invalid packed position, unknown piece code");
+        }
+        if (enPassantSquare() > 63) {
+            throw new IllegalArgumentException("Invalid packed position, en-passant square off the board");
+        }
+        position.clear();
+        unpackWord(squares0, 0, position);
+        unpackWord(squares1, 16, position);
+        unpackWord(squares2, 32, position);
+        unpackWord(squares3, 48, position);
+        position.setSideToMove(sideToMove());
+        position.setCastlingRights(castlingRights());
+        position.setEnPassantSquare(enPassantSquare());
+        position.setMoveCounters(halfmoveClock(), fullmoveNumber());
+        String error = position.validationError();
+        if (error != null) {
+            throw new IllegalArgumentException("Invalid packed position, " + error);
+        }
+    }
+
+    // Whether any nibble of a word is 13 to 15, which is no piece code plus one
+    private static boolean hasBadNibble(long word) {
+        long eights = word & 0x8888888888888888L;
+        long fours = (word << 1) & 0x8888888888888888L;
+        long lowBits = ((word << 2) | (word << 3)) & 0x8888888888888888L;
+        return (eights & fours & lowBits) != 0;
+    }
+
+    // Packs the pieces on sixteen squares starting at the given one into a word
+    private static long packWord(Position position, int firstSquare) {
+        long word = 0L;
+        long occupied = (position.occupied() >>> firstSquare) & 0xFFFFL;
+        while (occupied != 0) {
+            int offset = Long.numberOfTrailingZeros(occupied);
+            word |= (long) (position.pieceAt(firstSquare + offset) + 1) << (offset << 2);
+            occupied &= occupied - 1;
+        }
+        return word;
+    }
+
+    // Places the pieces of one word's sixteen squares, skipping empty nibbles
+    private static void unpackWord(long word, int firstSquare, Position position) {
+        while (word != 0) {
+            int shift = Long.numberOfTrailingZeros(word) & ~3;
+            position.setPiece((int) ((word >>> shift) & 0xF) - 1, firstSquare + (shift >>> 2));
+            word &= ~(0xFL << shift);
+        }
+    }
+
+    /**
+     * Writes the position as {@link #BYTES} bytes at the buffer's position.
+     *
+     * @param out the buffer to write to.
+     */
+    public void writeTo(ByteBuffer out) {
+        out.putLong(squares0).putLong(squares1).putLong(squares2).putLong(squares3).putInt(state);
+    }
+
+    /**
+     * Replaces the contents with {@link #BYTES} bytes read from the buffer's position, as
+     * written by {@link #writeTo(ByteBuffer)}. The bytes are taken as they are; they are
+     * checked when the position is unpacked.
+     *
+     * @param in the buffer to read from.
+     */
+    public void readFrom(ByteBuffer in) {
+        squares0 = in.getLong();
+        squares1 = in.getLong();
+        squares2 = in.getLong();
+        squares3 = in.getLong();
+        state = in.getInt();
+    }
+
+    /**
+     * Returns the piece on a square.
+     *
+     * @param square the square index.
+     * @return the piece code, or {@link Position#EMPTY}.
+     */
+    public int pieceAt(int square) {
+        long word;
+        switch (square >>> 4) {
+            case 0:
+                word = squares0;
+                break;
+            case 1:
+                word = squares1;
+                break;
+            case 2:
+                word = squares2;
+                break;
+            default:
+                word = squares3;
+                break;
+        }
+        return (int) ((word >>> ((square & 15) << 2)) & 0xF) - 1;
+    }
+
+    /**
+     * Returns the side to move.
+     *
+     * @return {@link Position#WHITE} or {@link Position#BLACK}.
+     */
+    public int sideToMove() {
+        return state & 1;
+    }
+
+    /**
+     * Returns the castling rights.
+     *
+     * @return a combination of {@link Position#WHITE_KINGSIDE}-style bits.
+     */
+    public int castlingRights() {
+        return (state >>> 1) & 0xF;
+    }
+
+    /**
+     * Returns the en-passant target square.
+     *
+     * @return the square index, or -1 if there is none.
+     */
+    public int enPassantSquare() {
+        return ((state >>> 5) & 0x7F) - 1;
+    }
+
+    /**
+     * Returns the halfmove clock, capped at 255.
+     *
+     * @return the moves since the last capture or pawn move.
+     */
+    public int halfmoveClock() {
+        return (state >>> 12) & 0xFF;
+    }
+
+    /**
+     * Returns the fullmove number, capped at 4095.
+     *
+     * @return the number of the current full move.
+     */
+    public int fullmoveNumber() {
+        return state >>> 20;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof PackedPosition)) {
+            return false;
+        }
+        PackedPosition packed = (PackedPosition) other;
+        return squares0 == packed.squares0 && squares1 == packed.squares1 && squares2 == packed.squares2
+                && squares3 == packed.squares3 && state == packed.state;
+    }
+
+    @Override
+    public int hashCode() {
+        long mixed = squares0 * 31 + squares1;
+        mixed = mixed * 31 + squares2;
+        mixed = mixed * 31 + squares3;
+        return Long.hashCode(mixed * 31 + state);
+    }
+}
@@ -0,0 +1,518 @@
+package ChessGame.bitboard;
+
+import ChessGame.eval.PieceSquareTables;
+
+/**
+ * The Position class is the bitboard representation of a chess position.
+ * It keeps one 64-bit bitboard per piece type and color, an occupancy mask per color,
+ * a combined occupancy mask and a square-to-piece lookup table, so that queries never
+ * have to scan an array of objects.
+ *
+ * Pieces are encoded as small integers: {@code color * 6 + type}, where the color is
+ * {@link #WHITE} or {@link #BLACK} and the type is one of {@link #PAWN} to {@link #KING}.
+ * Empty squares hold {@link #EMPTY}.
+ *
+ * Besides piece placement the position records the side to move, the castling rights
+ * as a set of {@link #WHITE_KINGSIDE}-style bits, the en-passant target square and the
+ * halfmove clock and fullmove number.
+ *
+ * Every mutator also updates a 64-bit {@link Zobrist} hash of the position, so
+ * {@link #hash()} is always current without rescanning the board. In the same way it
+ * keeps the middlegame and endgame {@link PieceSquareTables} sums and the game phase
+ * that {@link ChessGame.eval.Evaluation} blends into a score.
+ */
+public final class Position {
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    public static final int EMPTY = -1;
+
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+    public static final int ALL_CASTLING = 15;
+
+    private final long[] pieceBoards = new long[12]; // One bitboard per piece code
+    private final long[] colorBoards = new long[2];  // Occupancy per color
+    private long occupied;                           // Occupancy of both colors
+    private final byte[] squares = new byte[64];     // Piece code on each square
+    private int sideToMove = WHITE;
+    private int castlingRights;                      // WHITE_KINGSIDE | WHITE_QUEENSIDE | ...
+    private int enPassantSquare = -1;                // Square a pawn can capture en passant on, or -1
+    private final int[] kingSquares = {-1, -1};      // Cached king square per color, or -1
+    private long hash;                               // Zobrist hash, updated by every mutator
+    private long enPassantKey;                       // En-passant key included in the hash, or 0
+    private int middlegameScore;                     // Sum of the middlegame table values, White's view
+    private int endgameScore;                        // Sum of the endgame table values, White's view
+    private int phase;                               // Sum of the phase weights of all pieces
+    private int halfmoveClock;                       // Moves since the last capture or pawn move
+    private int fullmoveNumber = 1;                  // Starts at 1, incremented after each black move
+
+    /**
+     * Creates an empty position with white to move.
+     */
+    public Position() {
+        clear();
+    }
+
+    /**
+     * Encodes a piece from its color and type.
+     *
+     * @param color the piece color.
+     * @param type  the piece type.
+     * @return the piece code.
+     */
+    public static int piece(int color, int type) {
+        return color * 6 + type;
+    }
+
+    /**
+     * Returns the color of an encoded piece.
+     *
+     * @param piece the piece code.
+     * @return {@link #WHITE} or {@link #BLACK}.
+     */
+    public static int colorOf(int piece) {
+        return piece < 6 ? WHITE : BLACK;
+    }
+
+    /**
+     * Returns the type of an encoded piece.
+     *
+     * @param piece the piece code.
+     * @return the piece type, {@link #PAWN} to {@link #KING}.
+     */
+    public static int typeOf(int piece) {
+        return piece < 6 ? piece : piece - 6;
+    }
+
+    /**
+     * Removes every piece from the board, gives the move to white, clears the castling
+     * rights and en-passant square and resets the move counters.
+     */
+    public void clear() {
+        for (int i = 0; i < pieceBoards.length; i++) {
+            pieceBoards[i] = 0L;
+        }
+        colorBoards[WHITE] = 0L;
+        colorBoards[BLACK] = 0L;
+        occupied = 0L;
+        for (int square = 0; square < 64; square++) {
+            squares[square] = EMPTY;
+        }
+        sideToMove = WHITE;
+        castlingRights = 0;
+        enPassantSquare = -1;
+        kingSquares[WHITE] = -1;
+        kingSquares[BLACK] = -1;
+        hash = 0L; // Empty board, white to move, no castling rights, no en-passant square
+        enPassantKey = 0L;
+        middlegameScore = 0;
+        endgameScore = 0;
+        phase = 0;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+    }
+
+    /**
+     * Copies the complete state of another position into this one.
+     *
+     * @param other the position to copy.
+     */
+    public void copyFrom(Position other) {
+        System.arraycopy(other.pieceBoards, 0, pieceBoards, 0, pieceBoards.length);
+        System.arraycopy(other.colorBoards, 0, colorBoards, 0, colorBoards.length);
+        System.arraycopy(other.squares, 0, squares, 0, squares.length);
+        occupied = other.occupied;
+        sideToMove = other.sideToMove;
+        castlingRights = other.castlingRights;
+        enPassantSquare = other.enPassantSquare;
+        kingSquares[WHITE] = other.kingSquares[WHITE];
+        kingSquares[BLACK] = other.kingSquares[BLACK];
+        hash = other.hash;
+        enPassantKey = other.enPassantKey;
+        middlegameScore = other.middlegameScore;
+        endgameScore = other.endgameScore;
+        phase = other.phase;
+        halfmoveClock = other.halfmoveClock;
+        fullmoveNumber = other.fullmoveNumber;
+    }
+
+    /**
+     * Places a piece on an empty square.
+     *
+     * @param piece  the piece code.
+     * @param square the square index.
+     */
+    public void setPiece(int piece, int square) {
+        long bit = 1L << square;
+        pieceBoards[piece] |= bit;
+        colorBoards[colorOf(piece)] |= bit;
+        occupied |= bit;
+        squares[square] = (byte) piece;
+        hash ^= Zobrist.piece(piece, square);
+        middlegameScore += PieceSquareTables.middlegame(piece, square);
+        endgameScore += PieceSquareTables.endgame(piece, square);
+        phase += PieceSquareTables.phase(piece);
+        if (typeOf(piece) == KING) {
+            kingSquares[colorOf(piece)] = square;
+        } else if (typeOf(piece) == PAWN && enPassantSquare >= 0) {
+            updateEnPassantKey();
+        }
+    }
+
+    /**
+     * Removes whatever piece stands on a square.
+     *
+     * @param square the square index.
+     * @return the code of the removed piece, or {@link #EMPTY} if the square was empty.
+     */
+    public int removePiece(int square) {
+        int piece = squares[square];
+        if (piece != EMPTY) {
+            long mask = ~(1L << square);
+            pieceBoards[piece] &= mask;
+            colorBoards[colorOf(piece)] &= mask;
+            occupied &= mask;
+            squares[square] = EMPTY;
+            hash ^= Zobrist.piece(piece, square);
+            middlegameScore -= PieceSquareTables.middlegame(piece, square);
+            endgameScore -= PieceSquareTables.endgame(piece, square);
+            phase -= PieceSquareTables.phase(piece);
+            if (typeOf(piece) == KING && kingSquares[colorOf(piece)] == square) {
+                kingSquares[colorOf(piece)] = -1;
+            } else if (typeOf(piece) == PAWN && enPassantSquare >= 0) {
+                updateEnPassantKey();
+            }
+        }
+        return piece;
+    }
+
+    /**
+     * Returns the piece on a square.
+     *
+     * @param square the square index.
+     * @return the piece code, or {@link #EMPTY}.
+     */
+    public int pieceAt(int square) {
+        return squares[square];
+    }
+
+    /**
+     * Returns the bitboard of all pieces of a color and type.
+     *
+     * @param color the piece color.
+     * @param type  the piece type.
+     * @return the bitboard.
+     */
+    public long pieces(int color, int type) {
+        return pieceBoards[color * 6 + type];
+    }
+
+    /**
+     * Returns the bitboard of all squares occupied by a color.
+     *
+     * @param color the color.
+     * @return the occupancy bitboard.
+     */
+    public long occupancy(int color) {
+        return colorBoards[color];
+    }
+
+    /**
+     * Returns the bitboard of all occupied squares.
+     *
+     * @return the occupancy bitboard.
+     */
+    public long occupied() {
+        return occupied;
+    }
+
+    /**
+     * Returns the color whose turn it is.
+     *
+     * @return {@link #WHITE} or {@link #BLACK}.
+     */
+    public int sideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Sets the color whose turn it is.
+     *
+     * @param color {@link #WHITE} or {@link #BLACK}.
+     */
+    public void setSideToMove(int color) {
+        if (color != sideToMove) {
+            hash ^= Zobrist.SIDE_TO_MOVE;
+            this.sideToMove = color;
+            updateEnPassantKey();
+        }
+    }
+
+    /**
+     * Returns the castling rights that are still available.
+     *
+     * @return a combination of {@link #WHITE_KINGSIDE}, {@link #WHITE_QUEENSIDE},
+     *         {@link #BLACK_KINGSIDE} and {@link #BLACK_QUEENSIDE}.
+     */
+    public int castlingRights() {
+        return castlingRights;
+    }
+
+    /**
+     * Sets the castling rights.
+     *
+     * @param castlingRights a combination of the castling right bits.
+     */
+    public void setCastlingRights(int castlingRights) {
+        hash ^= Zobrist.castling(this.castlingRights) ^ Zobrist.castling(castlingRights);
+        this.castlingRights = castlingRights;
+    }
+
+    /**
+     * Returns the square a pawn of the side to move can capture en passant on.
+     *
+     * @return the square index, or -1 if no en-passant capture is possible.
+     */
+    public int enPassantSquare() {
+        return enPassantSquare;
+    }
+
+    /**
+     * Sets the en-passant target square.
+     *
+     * @param square the square index, or -1 for none.
+     */
+    public void setEnPassantSquare(int square) {
+        this.enPassantSquare = square;
+        updateEnPassantKey();
+    }
+
+    // Keeps the en-passant key in the hash only while a pawn of the side to move attacks
+    // the en-passant square, so positions that differ in an unusable square hash alike
+    private void updateEnPassantKey() {
+        long key = enPassantKey(enPassantSquare);
+        hash ^= enPassantKey ^ key;
+        enPassantKey = key;
+    }
+
+    // The en-passant key of a square if the side to move can capture on it, otherwise 0
+    private long enPassantKey(int square) {
+        if (square < 0
+                || (AttackTables.pawn(1 - sideToMove, square) & pieceBoards[piece(sideToMove, PAWN)]) == 0) {
+            return 0L;
+        }
+        return Zobrist.enPassant(square);
+    }
+
+    /**
+     * Returns the number of moves since the last capture or pawn move, for the fifty-move rule.
+     *
+     * @return the halfmove clock.
+     */
+    public int halfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * Returns the number of the current full move; it starts at 1 and grows after each black move.
+     *
+     * @return the fullmove number.
+     */
+    public int fullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    /**
+     * Sets the move counters. They are not part of the hash.
+     *
+     * @param halfmoveClock  the moves since the last capture or pawn move.
+     * @param fullmoveNumber the number of the current full move.
+     */
+    public void setMoveCounters(int halfmoveClock, int fullmoveNumber) {
+        this.halfmoveClock = halfmoveClock;
+        this.fullmoveNumber = fullmoveNumber;
+    }
+
+    /**
+     * Returns the square of the king of a color.
+     *
+     * @param color the king's color.
+     * @return the square index, or -1 if that color has no king.
+     */
+    public int kingSquare(int color) {
+        return kingSquares[color];
+    }
+
+    /**
+     * Returns the Zobrist hash of the position, covering piece placement, side to move,
+     * castling rights and the en-passant file when a pawn of the side to move can capture
+     * there.
+     *
+     * @return the 64-bit hash.
+     */
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * Returns the sum of the middlegame piece-square values of all pieces.
+     *
+     * @return the score in centipawns from White's point of view.
+     */
+    public int middlegameScore() {
+        return middlegameScore;
+    }
+
+    /**
+     * Returns the sum of the endgame piece-square values of all pieces.
+     *
+     * @return the score in centipawns from White's point of view.
+     */
+    public int endgameScore() {
+        return endgameScore;
+    }
+
+    /**
+     * Returns the game phase, from 0 with only kings and pawns left up to 24 with all
+     * pieces on the board.
+     *
+     * @return the sum of the phase weights of all pieces.
+     */
+    public int phase() {
+        return phase;
+    }
+
+    /**
+     * Computes the Zobrist hash from scratch. It always equals {@link #hash()}; it is
+     * meant for checking the incremental updates, not for regular use.
+     *
+     * @return the 64-bit hash.
+     */
+    public long computeHash() {
+        long key = Zobrist.castling(castlingRights) ^ enPassantKey(enPassantSquare);
+        if (sideToMove == BLACK) {
+            key ^= Zobrist.SIDE_TO_MOVE;
+        }
+        for (int square = 0; square < 64; square++) {
+            if (squares[square] != EMPTY) {
+                key ^= Zobrist.piece(squares[square], square);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Checks that the position could arise in a game as far as the rules engine relies on
+     * it: each side has exactly one king, the side that just moved is not in check, no pawn
+     * stands on the first or last rank, and an en-passant square is on the sixth rank with
+     * White to move or the third with Black to move. Loaders of FEN strings and packed
+     * positions share this check, so a position that fails it never reaches the move
+     * generator.
+     *
+     * @return null if the position is acceptable; otherwise a short description of the
+     *         first problem found.
+     */
+    public String validationError() {
+        if (Long.bitCount(pieceBoards[KING]) != 1 || Long.bitCount(pieceBoards[6 + KING]) != 1) {
+            return "each side needs exactly one king";
+        }
+        if (isSquareAttacked(kingSquares[sideToMove ^ 1], sideToMove)) {
+            return "the side not to move is in check";
+        }
+        if (((pieceBoards[PAWN] | pieceBoards[6 + PAWN]) & (Bitboards.RANK_1 | Bitboards.RANK_8)) != 0) {
+            return "pawn on the first or last rank";
+        }
+        if (enPassantSquare >= 0 && (enPassantSquare >>> 3) != (sideToMove == WHITE ? 5 : 2)) {
+            return "en-passant square on the wrong rank";
+        }
+        return null;
+    }
+
+    /**
+     * Returns every square attacked by the pieces of a color.
+     *
+     * @param color the attacking color.
+     * @return the attack bitboard.
+     */
+    public long attackedBy(int color) {
+        long attacks = 0L;
+        int base = color * 6;
+
+        long pawns = pieceBoards[base + PAWN];
+        while (pawns != 0) {
+            attacks |= AttackTables.pawn(color, Long.numberOfTrailingZeros(pawns));
+            pawns &= pawns - 1;
+        }
+        long knights = pieceBoards[base + KNIGHT];
+        while (knights != 0) {
+            attacks |= AttackTables.knight(Long.numberOfTrailingZeros(knights));
+            knights &= knights - 1;
+        }
+        long diagonals = pieceBoards[base + BISHOP] | pieceBoards[base + QUEEN];
+        while (diagonals != 0) {
+            attacks |= AttackTables.bishop(Long.numberOfTrailingZeros(diagonals), occupied);
+            diagonals &= diagonals - 1;
+        }
+        long straights = pieceBoards[base + ROOK] | pieceBoards[base + QUEEN];
+        while (straights != 0) {
+            attacks |= AttackTables.rook(Long.numberOfTrailingZeros(straights), occupied);
+            straights &= straights - 1;
+        }
+        long kings = pieceBoards[base + KING];
+        while (kings != 0) {
+            attacks |= AttackTables.king(Long.numberOfTrailingZeros(kings));
+            kings &= kings - 1;
+        }
+        return attacks;
+    }
+
+    /**
+     * Checks whether a square is attacked by any piece of a color.
+     * The query works backwards from the square: it looks for a pawn, knight or king on
+     * the squares those pieces would attack from, then for a slider at the end of each
+     * ray, and stops at the first attacker found.
+     *
+     * @param square the square index.
+     * @param color  the attacking color.
+     * @return true if the square is attacked; false otherwise.
+     */
+    public boolean isSquareAttacked(int square, int color) {
+        int base = color * 6;
+        if ((AttackTables.pawn(color ^ 1, square) & pieceBoards[base + PAWN]) != 0
+                || (AttackTables.knight(square) & pieceBoards[base + KNIGHT]) != 0
+                || (AttackTables.king(square) & pieceBoards[base + KING]) != 0) {
+            return true;
+        }
+        long queens = pieceBoards[base + QUEEN];
+        return (AttackTables.bishop(square, occupied) & (pieceBoards[base + BISHOP] | queens)) != 0
+                || (AttackTables.rook(square, occupied) & (pieceBoards[base + ROOK] | queens)) != 0;
+    }
+
+    /**
+     * Returns every piece of a color that attacks a square.
+     *
+     * @param square   the square index.
+     * @param color    the attacking color.
+     * @param occupied the occupancy to use for sliding pieces, normally {@link #occupied()}.
+     * @return a bitboard of the attacking pieces.
+     */
+    public long attackersOf(int square, int color, long occupied) {
+        int base = color * 6;
+        long queens = pieceBoards[base + QUEEN];
+        return (AttackTables.pawn(color ^ 1, square) & pieceBoards[base + PAWN])
+                | (AttackTables.knight(square) & pieceBoards[base + KNIGHT])
+                | (AttackTables.king(square) & pieceBoards[base + KING])
+                | (AttackTables.bishop(square, occupied) & (pieceBoards[base + BISHOP] | queens))
+                | (AttackTables.rook(square, occupied) & (pieceBoards[base + ROOK] | queens));
+    }
+}
@@ -0,0 +1,94 @@
+package ChessGame.bitboard;
+
+/**
+ * The Zobrist class holds the random keys that {@link Position} combines into its 64-bit
+ * position hash. A position's hash is the XOR of one key per piece on a square, one key
+ * for the set of castling rights, one key for the en-passant file when a pawn of the side
+ * to move can capture en passant, and {@link #SIDE_TO_MOVE} when Black is to move. An
+ * en-passant square no pawn can use is left out, so it does not split otherwise equal
+ * positions.
+ *
+ * Because XOR is its own inverse, moving a piece only has to XOR the keys of the squares
+ * it leaves and enters. The keys come from a fixed seed, so the same position has the
+ * same hash in every run and hashes can be stored in files.
+ */
+public final class Zobrist {
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private static final long[] PIECE_SQUARE = new long[12 * 64];
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT_FILE = new long[8];
+
+    /**
+     * The key added when Black is to move.
+     */
+    public static final long SIDE_TO_MOVE;
+
+    static {
+        long state = SEED;
+        for (int i = 0; i < PIECE_SQUARE.length; i++) {
+            state += SEED;
+            PIECE_SQUARE[i] = mix(state);
+        }
+        // Each castling right gets its own key; a set of rights is the XOR of its members
+        long[] rightKeys = new long[4];
+        for (int i = 0; i < rightKeys.length; i++) {
+            state += SEED;
+            rightKeys[i] = mix(state);
+        }
+        for (int rights = 0; rights < CASTLING.length; rights++) {
+            for (int i = 0; i < rightKeys.length; i++) {
+                if ((rights & (1 << i)) != 0) {
+                    CASTLING[rights] ^= rightKeys[i];
+                }
+            }
+        }
+        for (int file = 0; file < EN_PASSANT_FILE.length; file++) {
+            state += SEED;
+            EN_PASSANT_FILE[file] = mix(state);
+        }
+        state += SEED;
+        SIDE_TO_MOVE = mix(state);
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a piece standing on a square.
+     *
+     * @param piece  the piece code.
+     * @param square the square index.
+     * @return the key.
+     */
+    public static long piece(int piece, int square) {
+        return PIECE_SQUARE[piece * 64 + square];
+    }
+
+    /**
+     * Returns the key of a set of castling rights.
+     *
+     * @param rights a combination of the castling right bits; 0 has the key 0.
+     * @return the key.
+     */
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * Returns the key of an en-passant square, which only depends on its file.
+     *
+     * @param square the en-passant square, or -1 for none.
+     * @return the key, or 0 if there is no en-passant square.
+     */
+    public static long enPassant(int square) {
+        return square < 0 ? 0L : EN_PASSANT_FILE[square & 7];
+    }
+
+    // SplitMix64 finalizer, turns a counter into well-distributed bits
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
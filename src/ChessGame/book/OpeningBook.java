@@ -0,0 +1,169 @@
+package ChessGame.book;
+
+import ChessGame.Board;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The OpeningBook class looks up known moves for opening positions in a book file
+ * written by {@link OpeningBookBuilder}.
+ *
+ * The file is a {@link #HEADER_BYTES}-byte header followed by {@link #ENTRY_BYTES}-byte
+ * entries, each a 64-bit position hash (see {@link Board#hash()}), a move and a weight.
+ * The entries are sorted by hash and, for the same hash, by descending weight, so the
+ * moves of a position are found with one binary search and the most played comes first.
+ *
+ * The file is memory-mapped rather than read: opening a book costs the same whatever
+ * its size, the operating system pages in only the parts that lookups touch, and
+ * nothing is copied onto the heap. Lookups only read the mapping at absolute offsets,
+ * so one book can be shared by any number of threads.
+ *
+ * The hashes are this program's own {@link ChessGame.bitboard.Zobrist} keys, so Polyglot
+ * books cannot be read directly; build a book from the PGN games instead.
+ */
+public final class OpeningBook {
+    /**
+     * The first eight bytes of every book file.
+     */
+    public static final long MAGIC = 0x4348455353424B31L; // "CHESSBK1"
+
+    /**
+     * The size of the file header: the magic number and the entry count.
+     */
+    public static final int HEADER_BYTES = 2 * Long.BYTES;
+
+    /**
+     * The size of one entry: the hash, the move and the weight.
+     */
+    public static final int ENTRY_BYTES = Long.BYTES + 2 * Integer.BYTES;
+
+    private final ByteBuffer entries; // Read only at absolute offsets, never by position
+    private final int size;
+
+    private OpeningBook(ByteBuffer entries, int size) {
+        this.entries = entries;
+        this.size = size;
+    }
+
+    /**
+     * Opens a book file by mapping it into memory. The mapping stays valid until the
+     * book is garbage collected.
+     *
+     * @param file the book file.
+     * @return the book.
+     * @throws IOException if the file cannot be read, is not a book or is too large to map.
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Book too large to map: " + file);
+            }
+            if (length < HEADER_BYTES) {
+                throw new IOException("Not an opening book: " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            long count = buffer.getLong(Long.BYTES);
+            if (buffer.getLong(0) != MAGIC || count < 0 || HEADER_BYTES + count * ENTRY_BYTES != length) {
+                throw new IOException("Not an opening book: " + file);
+            }
+            return new OpeningBook(buffer, (int) count);
+        }
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the entry count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the first entry for a position hash.
+     *
+     * @param hash the position hash.
+     * @return the index of the entry with the highest weight for the hash, or -1 if the
+     *         book has no entry for it.
+     */
+    public int find(long hash) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keyAt(middle) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low < size && keyAt(low) == hash ? low : -1;
+    }
+
+    /**
+     * Returns the position hash of an entry.
+     *
+     * @param index the entry index.
+     * @return the hash.
+     */
+    public long keyAt(int index) {
+        return entries.getLong(offset(index));
+    }
+
+    /**
+     * Returns the move of an entry.
+     *
+     * @param index the entry index.
+     * @return the encoded move.
+     */
+    public int moveAt(int index) {
+        return entries.getInt(offset(index) + Long.BYTES);
+    }
+
+    /**
+     * Returns the weight of an entry, the number of games in which its move was played.
+     *
+     * @param index the entry index.
+     * @return the weight.
+     */
+    public int weightAt(int index) {
+        return entries.getInt(offset(index) + Long.BYTES + Integer.BYTES);
+    }
+
+    /**
+     * Returns the book move with the highest weight for the board's position. Entries
+     * whose move is not legal, which can only happen on a hash collision, are skipped.
+     *
+     * @param board      the position.
+     * @param legalMoves a move list to generate the legal moves into; its contents are replaced.
+     * @return the encoded move, or {@link Move#NONE} if the position is not in the book.
+     */
+    public int bestMove(Board board, MoveList legalMoves) {
+        long hash = board.hash();
+        int index = find(hash);
+        if (index < 0) {
+            return Move.NONE;
+        }
+        legalMoves.clear();
+        board.generateLegalMoves(legalMoves);
+        for (; index < size && keyAt(index) == hash; index++) {
+            int move = moveAt(index);
+            if (legalMoves.contains(move)) {
+                return move;
+            }
+        }
+        return Move.NONE;
+    }
+
+    // Byte offset of an entry in the mapping
+    private static int offset(int index) {
+        return HEADER_BYTES + index * ENTRY_BYTES;
+    }
+}
@@ -0,0 +1,242 @@
+package ChessGame.book;
+
+import ChessGame.Board;
+import ChessGame.notation.Fen;
+import ChessGame.notation.PgnGame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The OpeningBookBuilder class collects the opening moves of games and writes them as
+ * an {@link OpeningBook} file.
+ *
+ * Every move played in the first plies of a game is recorded as a (position hash, move)
+ * pair in two growing primitive arrays, so millions of games take a few bytes per move
+ * and no objects. Writing sorts the pairs, merges equal pairs into one entry whose
+ * weight is the number of games, drops entries played in fewer than the minimum number
+ * of games, and writes the rest in the order the book searches them.
+ * A builder is not thread-safe.
+ */
+public final class OpeningBookBuilder {
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final int maxPlies;
+    private final int minGames;
+    private final Board board = new Board(Fen.START_POSITION); // Replays the games for their hashes
+    private long[] keys = new long[1 << 16];
+    private int[] moves = new int[1 << 16];
+    private int size;
+    private long games;
+
+    /**
+     * Creates a builder.
+     *
+     * @param maxPlies the number of plies of each game that go into the book.
+     * @param minGames the number of games a move must be played in to be kept.
+     * @throws IllegalArgumentException if either limit is not positive.
+     */
+    public OpeningBookBuilder(int maxPlies, int minGames) {
+        if (maxPlies < 1 || minGames < 1) {
+            throw new IllegalArgumentException("Limits must be positive: " + maxPlies + ", " + minGames);
+        }
+        this.maxPlies = maxPlies;
+        this.minGames = minGames;
+    }
+
+    /**
+     * Records the opening moves of a game. A move played again in a position the game
+     * repeats is recorded once, so each game adds at most one to an entry's weight.
+     *
+     * @param game the game; its moves must be legal, as they are when read by a
+     *             {@link ChessGame.notation.PgnReader}.
+     * @throws IllegalArgumentException if the game's "FEN" tag is malformed.
+     */
+    public void add(PgnGame game) {
+        board.loadFen(game.getStartingFen());
+        int[] gameMoves = game.getMoves();
+        int plies = Math.min(gameMoves.length, maxPlies);
+        int first = size; // This game's pairs start here
+        for (int i = 0; i < plies; i++) {
+            long hash = board.hash();
+            if (!recordedSince(first, hash, gameMoves[i])) { // A repeated position counts once per game
+                add(hash, gameMoves[i]);
+            }
+            board.makeMove(gameMoves[i]);
+        }
+        games++;
+    }
+
+    // Whether a pair is among those recorded from the given index on; the plies of one
+    // game are few, so a linear scan is enough
+    private boolean recordedSince(int first, long hash, int move) {
+        for (int i = first; i < size; i++) {
+            if (keys[i] == hash && moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records one move played in a position.
+     *
+     * @param hash the position hash.
+     * @param move the encoded move.
+     */
+    public void add(long hash, int move) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        keys[size] = hash;
+        moves[size] = move;
+        size++;
+    }
+
+    /**
+     * Returns the number of games recorded.
+     *
+     * @return the game count.
+     */
+    public long games() {
+        return games;
+    }
+
+    /**
+     * Writes the book. The builder keeps its moves, so more games can be added and the
+     * book written again.
+     *
+     * @param file the book file, replaced if it exists.
+     * @return the number of entries written.
+     * @throws IOException if writing fails.
+     */
+    public int write(Path file) throws IOException {
+        sort(0, size - 1);
+
+        // Merge runs of equal pairs into entries, counting the kept ones first to size the arrays
+        int count = 0;
+        for (int i = 0, end; i < size; i = end) {
+            end = runEnd(i);
+            if (end - i >= minGames) {
+                count++;
+            }
+        }
+        long[] entryKeys = new long[count];
+        int[] entryMoves = new int[count];
+        int[] weights = new int[count];
+        count = 0;
+        for (int i = 0, end; i < size; i = end) {
+            end = runEnd(i);
+            if (end - i >= minGames) {
+                entryKeys[count] = keys[i];
+                entryMoves[count] = moves[i];
+                weights[count] = end - i;
+                count++;
+            }
+        }
+        sortByWeight(entryKeys, entryMoves, weights);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        buffer.putLong(OpeningBook.MAGIC).putLong(count);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < count; i++) {
+                if (buffer.remaining() < OpeningBook.ENTRY_BYTES) {
+                    writeAll(channel, buffer);
+                }
+                buffer.putLong(entryKeys[i]).putInt(entryMoves[i]).putInt(weights[i]);
+            }
+            writeAll(channel, buffer);
+        }
+        return count;
+    }
+
+    // End of the run of pairs equal to the one at an index, in the sorted arrays
+    private int runEnd(int i) {
+        int end = i + 1;
+        while (end < size && keys[end] == keys[i] && moves[end] == moves[i]) {
+            end++;
+        }
+        return end;
+    }
+
+    // Writes out and clears the buffer
+    private static void writeAll(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Orders the moves of each position by descending weight; positions have few moves
+    private static void sortByWeight(long[] keys, int[] moves, int[] weights) {
+        for (int i = 1; i < keys.length; i++) {
+            long key = keys[i];
+            int move = moves[i];
+            int weight = weights[i];
+            int j = i - 1;
+            for (; j >= 0 && keys[j] == key && weights[j] < weight; j--) {
+                moves[j + 1] = moves[j];
+                weights[j + 1] = weights[j];
+            }
+            moves[j + 1] = move;
+            weights[j + 1] = weight;
+        }
+    }
+
+    // Quicksort of the pairs between two indexes inclusive, by hash and then by move
+    private void sort(int low, int high) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            int middle = (low + high) >>> 1;
+            long pivotKey = keys[middle];
+            int pivotMove = moves[middle];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compare(i, pivotKey, pivotMove) < 0) {
+                    i++;
+                }
+                while (compare(j, pivotKey, pivotMove) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            // Recurse into the smaller side so the stack stays shallow
+            if (j - low < high - i) {
+                sort(low, j);
+                low = i;
+            } else {
+                sort(i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && compare(j - 1, keys[j], moves[j]) > 0; j--) {
+                swap(j - 1, j);
+            }
+        }
+    }
+
+    // Compares the pair at an index with a hash and move
+    private int compare(int index, long key, int move) {
+        int order = Long.compare(keys[index], key);
+        return order != 0 ? order : Integer.compare(moves[index], move);
+    }
+
+    private void swap(int i, int j) {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        int move = moves[i];
+        moves[i] = moves[j];
+        moves[j] = move;
+    }
+}
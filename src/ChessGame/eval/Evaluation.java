@@ -0,0 +1,66 @@
+package ChessGame.eval;
+
+import ChessGame.bitboard.Position;
+
+/**
+ * The Evaluation class scores a position in centipawns.
+ *
+ * {@link Position} keeps the sums of its pieces' {@link PieceSquareTables} values and the
+ * game phase up to date as pieces are placed and removed, so {@link #evaluate(Position)}
+ * only has to blend the middlegame and endgame sums by the phase: with all pieces on the
+ * board the middlegame score counts fully, and it fades into the endgame score as pieces
+ * come off.
+ *
+ * The class has no state, so any number of threads can evaluate their own positions at
+ * once, and evaluating allocates nothing.
+ */
+public final class Evaluation {
+    /**
+     * The phase of a position with all pieces still on the board.
+     */
+    public static final int MAX_PHASE = 24;
+
+    private Evaluation() {
+    }
+
+    /**
+     * Scores a position from the incrementally updated sums.
+     *
+     * @param position the position.
+     * @return the score in centipawns from the side to move's point of view.
+     */
+    public static int evaluate(Position position) {
+        int score = taper(position.middlegameScore(), position.endgameScore(), position.phase());
+        return position.sideToMove() == Position.WHITE ? score : -score;
+    }
+
+    /**
+     * Scores a position by summing the tables over every square. The result always
+     * equals {@link #evaluate(Position)}; it is meant for checking the incremental
+     * updates, not for use in search.
+     *
+     * @param position the position.
+     * @return the score in centipawns from the side to move's point of view.
+     */
+    public static int evaluateFromScratch(Position position) {
+        int middlegame = 0;
+        int endgame = 0;
+        int phase = 0;
+        for (int square = 0; square < 64; square++) {
+            int piece = position.pieceAt(square);
+            if (piece != Position.EMPTY) {
+                middlegame += PieceSquareTables.middlegame(piece, square);
+                endgame += PieceSquareTables.endgame(piece, square);
+                phase += PieceSquareTables.phase(piece);
+            }
+        }
+        int score = taper(middlegame, endgame, phase);
+        return position.sideToMove() == Position.WHITE ? score : -score;
+    }
+
+    // Blends the middlegame and endgame scores; promotions can push the phase above the maximum
+    private static int taper(int middlegame, int endgame, int phase) {
+        int weight = Math.min(phase, MAX_PHASE);
+        return (middlegame * weight + endgame * (MAX_PHASE - weight)) / MAX_PHASE;
+    }
+}
@@ -0,0 +1,163 @@
+package ChessGame.eval;
+
+import ChessGame.bitboard.Position;
+
+/**
+ * The PieceSquareTables class holds the value of every piece on every square, once for
+ * the middlegame and once for the endgame. Each value is the piece's material value plus
+ * a bonus or penalty for the square, and is stored from White's point of view: Black's
+ * entries are the mirrored White values, negated. Summing the entries of all pieces on
+ * the board therefore gives the score for White directly.
+ *
+ * The square bonuses follow the well-known "simplified evaluation function" tables; the
+ * king has a separate endgame table that pulls it to the centre, and passed-pawn-like
+ * advancement is worth more in the endgame.
+ */
+public final class PieceSquareTables {
+    // How much each piece type counts towards the game phase; 24 means all pieces are still
+    // on the board. Read through phase(int), so no caller can change it under Position's sums
+    private static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0};
+
+    private static final int[] MIDDLEGAME_VALUES = {100, 320, 330, 500, 900, 0};
+    private static final int[] ENDGAME_VALUES = {120, 300, 320, 530, 940, 0};
+
+    // Square bonuses as seen by White, rank 8 in the first row, like the GUI's row order
+    private static final int[] PAWN = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             10,  10,  20,  30,  30,  20,  10,  10,
+              5,   5,  10,  25,  25,  10,   5,   5,
+              0,   0,   0,  20,  20,   0,   0,   0,
+              5,  -5, -10,   0,   0, -10,  -5,   5,
+              5,  10,  10, -20, -20,  10,  10,   5,
+              0,   0,   0,   0,   0,   0,   0,   0
+    };
+    private static final int[] PAWN_ENDGAME = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             80,  80,  80,  80,  80,  80,  80,  80,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             30,  30,  30,  30,  30,  30,  30,  30,
+             15,  15,  15,  15,  15,  15,  15,  15,
+              5,   5,   5,   5,   5,   5,   5,   5,
+              0,   0,   0,   0,   0,   0,   0,   0,
+              0,   0,   0,   0,   0,   0,   0,   0
+    };
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20,   0,   0,   0,   0, -20, -40,
+            -30,   0,  10,  15,  15,  10,   0, -30,
+            -30,   5,  15,  20,  20,  15,   5, -30,
+            -30,   0,  15,  20,  20,  15,   0, -30,
+            -30,   5,  10,  15,  15,  10,   5, -30,
+            -40, -20,   0,   5,   5,   0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,  10,  10,   5,   0, -10,
+            -10,   5,   5,  10,  10,   5,   5, -10,
+            -10,   0,  10,  10,  10,  10,   0, -10,
+            -10,  10,  10,  10,  10,  10,  10, -10,
+            -10,   5,   0,   0,   0,   0,   5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+    private static final int[] ROOK = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+              5,  10,  10,  10,  10,  10,  10,   5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+              0,   0,   0,   5,   5,   0,   0,   0
+    };
+    private static final int[] QUEEN = {
+            -20, -10, -10,  -5,  -5, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,   5,   5,   5,   0, -10,
+             -5,   0,   5,   5,   5,   5,   0,  -5,
+              0,   0,   5,   5,   5,   5,   0,  -5,
+            -10,   5,   5,   5,   5,   5,   0, -10,
+            -10,   0,   5,   0,   0,   0,   0, -10,
+            -20, -10, -10,  -5,  -5, -10, -10, -20
+    };
+    private static final int[] KING = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+             20,  20,   0,   0,   0,   0,  20,  20,
+             20,  30,  10,   0,   0,  10,  30,  20
+    };
+    private static final int[] KING_ENDGAME = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10,   0,   0, -10, -20, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -30,   0,   0,   0,   0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private static final int[][] MIDDLEGAME_BONUSES = {PAWN, KNIGHT, BISHOP, ROOK, QUEEN, KING};
+    private static final int[][] ENDGAME_BONUSES = {PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME};
+
+    private static final int[] MIDDLEGAME = new int[12 * 64]; // Indexed by piece code and square
+    private static final int[] ENDGAME = new int[12 * 64];
+
+    static {
+        for (int type = Position.PAWN; type <= Position.KING; type++) {
+            for (int square = 0; square < 64; square++) {
+                int whiteIndex = square ^ 56; // Rank 1 is the last row of the tables
+                int blackIndex = square;      // Black sees the board mirrored
+                MIDDLEGAME[Position.piece(Position.WHITE, type) * 64 + square] =
+                        MIDDLEGAME_VALUES[type] + MIDDLEGAME_BONUSES[type][whiteIndex];
+                MIDDLEGAME[Position.piece(Position.BLACK, type) * 64 + square] =
+                        -(MIDDLEGAME_VALUES[type] + MIDDLEGAME_BONUSES[type][blackIndex]);
+                ENDGAME[Position.piece(Position.WHITE, type) * 64 + square] =
+                        ENDGAME_VALUES[type] + ENDGAME_BONUSES[type][whiteIndex];
+                ENDGAME[Position.piece(Position.BLACK, type) * 64 + square] =
+                        -(ENDGAME_VALUES[type] + ENDGAME_BONUSES[type][blackIndex]);
+            }
+        }
+    }
+
+    private PieceSquareTables() {
+    }
+
+    /**
+     * Returns the middlegame value of a piece on a square, from White's point of view.
+     *
+     * @param piece  the piece code.
+     * @param square the square index.
+     * @return the value in centipawns; negative for black pieces.
+     */
+    public static int middlegame(int piece, int square) {
+        return MIDDLEGAME[piece * 64 + square];
+    }
+
+    /**
+     * Returns the endgame value of a piece on a square, from White's point of view.
+     *
+     * @param piece  the piece code.
+     * @param square the square index.
+     * @return the value in centipawns; negative for black pieces.
+     */
+    public static int endgame(int piece, int square) {
+        return ENDGAME[piece * 64 + square];
+    }
+
+    /**
+     * Returns how much a piece counts towards the game phase.
+     *
+     * @param piece the piece code.
+     * @return the phase weight.
+     */
+    public static int phase(int piece) {
+        return PHASE_WEIGHTS[Position.typeOf(piece)];
+    }
+}
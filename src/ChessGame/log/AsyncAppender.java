@@ -0,0 +1,114 @@
+package ChessGame.log;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The AsyncAppender class writes log events on a background thread, so the threads that
+ * log never wait for console or file I/O.
+ *
+ * Events go into a fixed-size ring buffer. Appending only takes a short lock to store a
+ * reference; the writer thread takes all buffered events at once under the same lock,
+ * then formats them and writes them with a single write and flush outside it. When the
+ * buffer is full the new event is dropped rather than blocking the caller, and the
+ * number of dropped events is written with the next batch.
+ *
+ * The writer thread is a daemon. A shutdown hook writes whatever is still buffered when
+ * the JVM exits.
+ */
+public final class AsyncAppender {
+    private final Writer out;
+    private final LogEvent[] ring;
+    private final int mask;     // Ring size - 1, the size is a power of two
+    private long head;          // Next event to write, guarded by this
+    private long tail;          // Next free slot, guarded by this
+    private long dropped;       // Events dropped since the last batch, guarded by this
+    private final Object writeLock = new Object(); // Keeps batches in order when the shutdown hook drains too
+    private final StringBuilder text = new StringBuilder(4096); // Guarded by writeLock
+
+    /**
+     * Creates an appender and starts its writer thread.
+     *
+     * @param out      where the formatted events go.
+     * @param capacity the number of events the ring buffer holds, rounded up to a power of two.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public AsyncAppender(Writer out, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.out = out;
+        this.ring = new LogEvent[Math.max(size, 1)];
+        this.mask = ring.length - 1;
+
+        Thread writer = new Thread(this::run, "chess-log");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "chess-log-flush"));
+    }
+
+    /**
+     * Queues an event for writing, or drops it if the buffer is full.
+     *
+     * @param event the event.
+     */
+    synchronized void append(LogEvent event) {
+        if (tail - head == ring.length) {
+            dropped++;
+            return;
+        }
+        ring[(int) (tail++ & mask)] = event;
+        if (tail - head == 1) {
+            notifyAll(); // The writer may be waiting for the first event
+        }
+    }
+
+    // Writer thread: waits for events and writes them in batches
+    private void run() {
+        while (true) {
+            synchronized (this) {
+                while (head == tail && dropped == 0) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+            drain();
+        }
+    }
+
+    // Formats and writes everything buffered; also called by the shutdown hook
+    private void drain() {
+        synchronized (writeLock) {
+            LogEvent[] batch;
+            long lost;
+            synchronized (this) {
+                batch = new LogEvent[(int) (tail - head)];
+                for (int i = 0; i < batch.length; i++) {
+                    int slot = (int) (head++ & mask);
+                    batch[i] = ring[slot];
+                    ring[slot] = null;
+                }
+                lost = dropped;
+                dropped = 0;
+            }
+
+            text.setLength(0);
+            for (LogEvent event : batch) {
+                event.format(text);
+            }
+            if (lost > 0) {
+                text.append(lost).append(" log events dropped, buffer full\n");
+            }
+            try {
+                out.write(text.toString());
+                out.flush();
+            } catch (IOException e) {
+                // Nowhere left to report it; the events are lost
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ChessGame.log;
+
+/**
+ * The severity of a log event, from the most detailed to the most severe. {@link #OFF}
+ * is only used as a threshold and turns logging off.
+ */
+public enum Level {
+    DEBUG, INFO, WARN, ERROR, OFF;
+
+    /**
+     * Parses a level name, ignoring case.
+     *
+     * @param name the level name, e.g. "debug".
+     * @return the level.
+     * @throws IllegalArgumentException if the name is not a level.
+     */
+    public static Level parse(String name) {
+        for (Level level : values()) {
+            if (level.name().equalsIgnoreCase(name.trim())) {
+                return level;
+            }
+        }
+        throw new IllegalArgumentException("Unknown log level: " + name);
+    }
+}
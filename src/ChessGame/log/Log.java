@@ -0,0 +1,178 @@
+package ChessGame.log;
+
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The Log class is the logging facade. Each class that logs holds one in a static field:
+ *
+ * <pre>
+ * private static final Log LOG = Log.forClass(Board.class);
+ *
+ * LOG.debug("move.rejected", "reason", "leaves king in check");
+ * if (LOG.isDebugEnabled()) {
+ *     LOG.debug("board", "diagram", toDiagram()); // Built only when debug logging is on
+ * }
+ * </pre>
+ * An event is a short dotted name with up to two key-value fields, written as one
+ * logfmt-style line by an {@link AsyncAppender} on standard error, so standard output
+ * stays free for program output such as the server protocol.
+ *
+ * The threshold is read once from the system property {@code chess.log.level} (DEBUG,
+ * INFO, WARN, ERROR or OFF; INFO by default, and also when the value is not a level)
+ * into static final flags. The JIT treats those as constants, so a disabled level check
+ * costs nothing and a guarded block behind it is compiled away. Below the threshold no
+ * event object is created at all.
+ */
+public final class Log {
+    private static final Level THRESHOLD = configuredThreshold();
+    private static final boolean DEBUG = THRESHOLD.compareTo(Level.DEBUG) <= 0;
+    private static final boolean INFO = THRESHOLD.compareTo(Level.INFO) <= 0;
+    private static final boolean WARN = THRESHOLD.compareTo(Level.WARN) <= 0;
+    private static final boolean ERROR = THRESHOLD.compareTo(Level.ERROR) <= 0;
+    private static final int BUFFER_EVENTS = 8192;
+
+    private final String name;
+
+    private Log(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns a logger named after a class.
+     *
+     * @param type the class that logs.
+     * @return the logger.
+     */
+    public static Log forClass(Class<?> type) {
+        return new Log(type.getSimpleName());
+    }
+
+    /**
+     * Returns the threshold below which events are discarded.
+     *
+     * @return the configured level.
+     */
+    public static Level threshold() {
+        return THRESHOLD;
+    }
+
+    /**
+     * Checks whether debug events are written.
+     *
+     * @return true if the threshold is DEBUG; false otherwise.
+     */
+    public boolean isDebugEnabled() {
+        return DEBUG;
+    }
+
+    /**
+     * Checks whether info events are written.
+     *
+     * @return true if the threshold is INFO or lower; false otherwise.
+     */
+    public boolean isInfoEnabled() {
+        return INFO;
+    }
+
+    /**
+     * Logs a debug event without fields.
+     *
+     * @param event the event name.
+     */
+    public void debug(String event) {
+        if (DEBUG) {
+            write(Level.DEBUG, event, null, null, null, null);
+        }
+    }
+
+    /**
+     * Logs a debug event with one field.
+     *
+     * @param event the event name.
+     * @param key   the field name.
+     * @param value the field value; it is converted to text on the writer thread, so it
+     *              must not change afterwards.
+     */
+    public void debug(String event, String key, Object value) {
+        if (DEBUG) {
+            write(Level.DEBUG, event, key, value, null, null);
+        }
+    }
+
+    /**
+     * Logs a debug event with two fields.
+     *
+     * @param event  the event name.
+     * @param key1   the first field name.
+     * @param value1 the first field value.
+     * @param key2   the second field name.
+     * @param value2 the second field value.
+     */
+    public void debug(String event, String key1, Object value1, String key2, Object value2) {
+        if (DEBUG) {
+            write(Level.DEBUG, event, key1, value1, key2, value2);
+        }
+    }
+
+    /**
+     * Logs an info event with one field.
+     *
+     * @param event the event name.
+     * @param key   the field name.
+     * @param value the field value.
+     */
+    public void info(String event, String key, Object value) {
+        if (INFO) {
+            write(Level.INFO, event, key, value, null, null);
+        }
+    }
+
+    /**
+     * Logs a warning with one field.
+     *
+     * @param event the event name.
+     * @param key   the field name.
+     * @param value the field value.
+     */
+    public void warn(String event, String key, Object value) {
+        if (WARN) {
+            write(Level.WARN, event, key, value, null, null);
+        }
+    }
+
+    /**
+     * Logs an error with one field.
+     *
+     * @param event the event name.
+     * @param key   the field name.
+     * @param value the field value.
+     */
+    public void error(String event, String key, Object value) {
+        if (ERROR) {
+            write(Level.ERROR, event, key, value, null, null);
+        }
+    }
+
+    // The level named by the system property; a typo must not stop the classes that log from loading
+    private static Level configuredThreshold() {
+        String name = System.getProperty("chess.log.level", "INFO");
+        try {
+            return Level.parse(name);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown log level in chess.log.level: " + name + ", using INFO");
+            return Level.INFO;
+        }
+    }
+
+    // Hands an event to the appender
+    private void write(Level level, String event, String key1, Object value1, String key2, Object value2) {
+        Appender.INSTANCE.append(new LogEvent(level, name, event, key1, value1, key2, value2));
+    }
+
+    // Holds the appender, so its thread only starts when the first event is written
+    private static final class Appender {
+        static final AsyncAppender INSTANCE =
+                new AsyncAppender(new OutputStreamWriter(System.err, StandardCharsets.UTF_8), BUFFER_EVENTS);
+    }
+}
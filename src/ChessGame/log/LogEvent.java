@@ -0,0 +1,73 @@
+package ChessGame.log;
+
+import java.time.Instant;
+
+/**
+ * One log event as captured on the logging thread: when it happened, where, and an event
+ * name with up to two key-value fields. Formatting is left to the appender thread.
+ */
+final class LogEvent {
+    private final long timeMillis;
+    private final Level level;
+    private final String logger;
+    private final String thread;
+    private final String event;
+    private final String key1;  // Or null
+    private final Object value1;
+    private final String key2;  // Or null
+    private final Object value2;
+
+    LogEvent(Level level, String logger, String event, String key1, Object value1, String key2, Object value2) {
+        this.timeMillis = System.currentTimeMillis();
+        this.level = level;
+        this.logger = logger;
+        this.thread = Thread.currentThread().getName();
+        this.event = event;
+        this.key1 = key1;
+        this.value1 = value1;
+        this.key2 = key2;
+        this.value2 = value2;
+    }
+
+    /**
+     * Appends the event as one logfmt-style line: time, level, logger, thread, event and
+     * fields as key=value, with values quoted when they contain spaces. A value that
+     * spans several lines, such as a board diagram, follows on lines of its own.
+     *
+     * @param out the builder the line is appended to.
+     */
+    void format(StringBuilder out) {
+        out.append(Instant.ofEpochMilli(timeMillis)).append(' ').append(level)
+                .append(' ').append(logger).append(" [").append(thread).append("] ").append(event);
+        String block = null;
+        if (key1 != null) {
+            block = appendField(out, key1, value1, null);
+        }
+        if (key2 != null) {
+            block = appendField(out, key2, value2, block);
+        }
+        out.append('\n');
+        if (block != null) {
+            out.append(block);
+            if (!block.endsWith("\n")) {
+                out.append('\n');
+            }
+        }
+    }
+
+    // Appends one field; returns the multi-line block to write after the line, if any
+    private static String appendField(StringBuilder out, String key, Object value, String block) {
+        String text = String.valueOf(value);
+        out.append(' ').append(key).append('=');
+        if (text.indexOf('\n') >= 0) {
+            out.append("<below>");
+            return block == null ? text : block + text;
+        }
+        if (text.isEmpty() || text.indexOf(' ') >= 0 || text.indexOf('"') >= 0) {
+            out.append('"').append(text.replace("\"", "\\\"")).append('"');
+        } else {
+            out.append(text);
+        }
+        return block;
+    }
+}
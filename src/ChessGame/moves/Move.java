@@ -0,0 +1,171 @@
+package ChessGame.moves;
+
+import ChessGame.bitboard.Position;
+
+/**
+ * The Move class encodes chess moves as packed {@code int} values, so that move
+ * generation never has to allocate objects or strings.
+ *
+ * Layout of a move:
+ * <pre>
+ *   bits  0-5   starting square (0 = A1, 63 = H8)
+ *   bits  6-11  destination square
+ *   bits 12-15  flags (quiet, double pawn push, castling, capture, en passant, promotion)
+ *   bits 16-18  promotion piece type, if the move is a promotion
+ * </pre>
+ * The value {@link #NONE} is never a real move. String notation is only produced at the
+ * UI and serialization edges through {@link #toString(int)}.
+ */
+public final class Move {
+    public static final int NONE = 0;
+
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int KING_CASTLE = 2;
+    public static final int QUEEN_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int PROMOTION = 8;
+    public static final int PROMOTION_CAPTURE = 12;
+
+    private Move() {
+    }
+
+    /**
+     * Encodes a move that is not a promotion.
+     *
+     * @param from  the starting square.
+     * @param to    the destination square.
+     * @param flags the move flags.
+     * @return the encoded move.
+     */
+    public static int of(int from, int to, int flags) {
+        return from | (to << 6) | (flags << 12);
+    }
+
+    /**
+     * Encodes a promotion.
+     *
+     * @param from          the starting square.
+     * @param to            the destination square.
+     * @param promotionType the piece type the pawn becomes ({@link Position#KNIGHT} to {@link Position#QUEEN}).
+     * @param capture       whether the promotion captures a piece.
+     * @return the encoded move.
+     */
+    public static int promotion(int from, int to, int promotionType, boolean capture) {
+        return of(from, to, capture ? PROMOTION_CAPTURE : PROMOTION) | (promotionType << 16);
+    }
+
+    /**
+     * Returns the starting square of a move.
+     *
+     * @param move the encoded move.
+     * @return the square index.
+     */
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    /**
+     * Returns the destination square of a move.
+     *
+     * @param move the encoded move.
+     * @return the square index.
+     */
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    /**
+     * Returns the flags of a move.
+     *
+     * @param move the encoded move.
+     * @return the flags.
+     */
+    public static int flags(int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    /**
+     * Returns the piece type a promotion creates.
+     *
+     * @param move the encoded move.
+     * @return the promotion piece type; only meaningful if {@link #isPromotion(int)} is true.
+     */
+    public static int promotionType(int move) {
+        return (move >>> 16) & 0x7;
+    }
+
+    /**
+     * Checks whether a move captures a piece, including en passant.
+     *
+     * @param move the encoded move.
+     * @return true if the move is a capture; false otherwise.
+     */
+    public static boolean isCapture(int move) {
+        return (flags(move) & CAPTURE) != 0;
+    }
+
+    /**
+     * Checks whether a move promotes a pawn.
+     *
+     * @param move the encoded move.
+     * @return true if the move is a promotion; false otherwise.
+     */
+    public static boolean isPromotion(int move) {
+        return (flags(move) & PROMOTION) != 0;
+    }
+
+    /**
+     * Returns a move in coordinate notation (e.g., "e2e4" or "e7e8q").
+     *
+     * @param move the encoded move.
+     * @return the move in coordinate notation.
+     */
+    public static String toString(int move) {
+        if (move == NONE) {
+            return "0000";
+        }
+        String text = squareName(from(move)) + squareName(to(move));
+        if (isPromotion(move)) {
+            text += "pnbrqk".charAt(promotionType(move));
+        }
+        return text;
+    }
+
+    /**
+     * Checks whether a move is written by a string in coordinate notation, without
+     * allocating. Letters may be upper or lower case; a promotion without a piece letter
+     * matches the queen promotion.
+     *
+     * @param move     the encoded move.
+     * @param notation the move in coordinate notation (e.g., "e2e4" or "e7e8q").
+     * @return true if the notation describes the move; false otherwise.
+     */
+    public static boolean matches(int move, CharSequence notation) {
+        if (move == NONE || notation.length() < 4 || notation.length() > 5) {
+            return false;
+        }
+        if (squareIndex(notation.charAt(0), notation.charAt(1)) != from(move)
+                || squareIndex(notation.charAt(2), notation.charAt(3)) != to(move)) {
+            return false;
+        }
+        if (!isPromotion(move)) {
+            return notation.length() == 4;
+        }
+        char piece = notation.length() == 5 ? Character.toLowerCase(notation.charAt(4)) : 'q';
+        return "pnbrqk".indexOf(piece) == promotionType(move);
+    }
+
+    // Square index of a file letter and rank digit, or -1 if they are not on the board
+    private static int squareIndex(char fileChar, char rankChar) {
+        int file = Character.toLowerCase(fileChar) - 'a';
+        int rank = rankChar - '1';
+        return file < 0 || file > 7 || rank < 0 || rank > 7 ? -1 : rank * 8 + file;
+    }
+
+    // Lower-case square name for coordinate notation
+    private static String squareName(int square) {
+        return "" + (char) ('a' + (square & 7)) + (char) ('1' + (square >>> 3));
+    }
+}
@@ -0,0 +1,92 @@
+package ChessGame.moves;
+
+/**
+ * The MoveList class is a preallocated buffer of encoded moves.
+ * Move generators append to it in place, and callers clear and reuse the same list
+ * instead of allocating a new collection for every generation call.
+ */
+public final class MoveList {
+    /** More than the maximum number of moves in any legal chess position (218). */
+    public static final int CAPACITY = 256;
+
+    private final int[] moves = new int[CAPACITY];
+    private int size;
+
+    /**
+     * Appends a move to the list.
+     *
+     * @param move the encoded move.
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    /**
+     * Returns the move at an index.
+     *
+     * @param index the index, from 0 to {@link #size()} - 1.
+     * @return the encoded move.
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Replaces the move at an index.
+     *
+     * @param index the index, from 0 to {@link #size()} - 1.
+     * @param move  the encoded move.
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    /**
+     * Returns the number of moves in the list.
+     *
+     * @return the number of moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the list holds no moves.
+     *
+     * @return true if the list is empty; false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Drops every move from an index onwards.
+     *
+     * @param newSize the number of moves to keep.
+     */
+    public void truncate(int newSize) {
+        size = newSize;
+    }
+
+    /**
+     * Removes all moves so the buffer can be reused.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Checks whether the list contains a move.
+     *
+     * @param move the encoded move.
+     * @return true if the move is in the list; false otherwise.
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,260 @@
+package ChessGame.notation;
+
+import ChessGame.bitboard.Position;
+
+/**
+ * The Fen class reads and writes positions in Forsyth-Edwards Notation (FEN) directly
+ * from and into a bitboard {@link Position}.
+ *
+ * Reading walks the string once with an index and places each piece straight into the
+ * position, so loading a position creates no objects at all; millions of positions can
+ * be loaded from a test suite or a database this way. The move counters may be left
+ * out, as they are in EPD records, in which case they default to 0 and 1; whatever
+ * follows the fields, such as EPD operations, is ignored.
+ *
+ * Besides the syntax, loading checks that the position could arise in a game as far as
+ * the rules engine relies on it: each side has exactly one king, the side that just moved
+ * is not in check, no pawn stands on the first or last rank, and an en-passant square
+ * is on the sixth rank with White to move or the third with Black to move. A castling
+ * right whose king or rook is not on its home square is dropped rather than rejected, so
+ * a position reads back with the same rights and hash whichever tool wrote it.
+ */
+public final class Fen {
+    public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final String PIECE_LETTERS = "PNBRQKpnbrqk"; // Indexed by piece code
+    private static final String CASTLING_LETTERS = "KQkq";      // Indexed by castling right bit
+
+    private Fen() {
+    }
+
+    /**
+     * Replaces the contents of a position with the position described by a FEN string.
+     * The position is filled in as the string is read, so if the string is rejected its
+     * contents are undefined; {@link ChessGame.Board#loadFen(String)} loads into a scratch
+     * position first and leaves the board unchanged instead.
+     *
+     * @param fen      the FEN string.
+     * @param position the position to load into.
+     * @throws IllegalArgumentException if the FEN string is malformed or describes an
+     *                                  impossible position.
+     */
+    public static void load(CharSequence fen, Position position) {
+        position.clear();
+        int length = fen.length();
+        int i = skipSpaces(fen, 0);
+
+        // Piece placement, from rank 8 down to rank 1
+        int rank = 7;
+        int file = 0;
+        for (; i < length && !Character.isWhitespace(fen.charAt(i)); i++) {
+            char c = fen.charAt(i);
+            if (c == '/') {
+                if (file != 8 || rank == 0) {
+                    throw invalid("piece placement", fen);
+                }
+                rank--;
+                file = 0;
+            } else if (c >= '1' && c <= '8') {
+                file += c - '0';
+                if (file > 8) {
+                    throw invalid("piece placement", fen);
+                }
+            } else {
+                int piece = PIECE_LETTERS.indexOf(c);
+                if (piece < 0 || file > 7) {
+                    throw invalid("piece placement", fen);
+                }
+                position.setPiece(piece, rank * 8 + file);
+                file++;
+            }
+        }
+        if (rank != 0 || file != 8) {
+            throw invalid("piece placement", fen);
+        }
+
+        // Side to move
+        i = skipSpaces(fen, i);
+        char side = i < length ? fen.charAt(i) : '?';
+        if ((side != 'w' && side != 'b') || !endOfField(fen, i + 1)) {
+            throw invalid("side to move", fen);
+        }
+        position.setSideToMove(side == 'w' ? Position.WHITE : Position.BLACK);
+        i++;
+
+        // Castling rights
+        i = skipSpaces(fen, i);
+        int rights = 0;
+        if (i < length && fen.charAt(i) == '-') {
+            i++;
+        } else {
+            for (; i < length && !Character.isWhitespace(fen.charAt(i)); i++) {
+                int index = CASTLING_LETTERS.indexOf(fen.charAt(i));
+                if (index < 0) {
+                    throw invalid("castling rights", fen);
+                }
+                rights |= 1 << index;
+            }
+            if (rights == 0) {
+                throw invalid("castling rights", fen);
+            }
+        }
+        position.setCastlingRights(rights & placementCastlingRights(position)); // Same position, same hash
+
+        // En-passant target square
+        i = skipSpaces(fen, i);
+        if (i < length && fen.charAt(i) == '-') {
+            i++;
+        } else {
+            int epFile = i < length ? fen.charAt(i) - 'a' : -1;
+            int epRank = i + 1 < length ? fen.charAt(i + 1) - '1' : -1;
+            if (epFile < 0 || epFile > 7 || (epRank != 2 && epRank != 5)) {
+                throw invalid("en-passant square", fen);
+            }
+            position.setEnPassantSquare(epRank * 8 + epFile);
+            i += 2;
+        }
+        if (!endOfField(fen, i)) {
+            throw invalid("en-passant square", fen);
+        }
+
+        // Optional move counters; anything else, such as EPD operations, is ignored
+        i = skipSpaces(fen, i);
+        int halfmoveClock = parseCounter(fen, i);
+        int fullmoveNumber = -1;
+        if (halfmoveClock >= 0) {
+            fullmoveNumber = parseCounter(fen, skipSpaces(fen, skipField(fen, i)));
+        }
+        position.setMoveCounters(Math.max(halfmoveClock, 0), Math.max(fullmoveNumber, 1));
+        validate(position, fen);
+    }
+
+    // The castling rights whose king and rook stand on their home squares
+    private static int placementCastlingRights(Position position) {
+        int rights = 0;
+        int whiteRook = Position.piece(Position.WHITE, Position.ROOK);
+        int blackRook = Position.piece(Position.BLACK, Position.ROOK);
+        if (position.pieceAt(4) == Position.piece(Position.WHITE, Position.KING)) {
+            if (position.pieceAt(7) == whiteRook) rights |= Position.WHITE_KINGSIDE;
+            if (position.pieceAt(0) == whiteRook) rights |= Position.WHITE_QUEENSIDE;
+        }
+        if (position.pieceAt(60) == Position.piece(Position.BLACK, Position.KING)) {
+            if (position.pieceAt(63) == blackRook) rights |= Position.BLACK_KINGSIDE;
+            if (position.pieceAt(56) == blackRook) rights |= Position.BLACK_QUEENSIDE;
+        }
+        return rights;
+    }
+
+    // Rejects positions the move generator cannot handle or that no game can reach
+    private static void validate(Position position, CharSequence fen) {
+        String error = position.validationError();
+        if (error != null) {
+            throw invalid("position, " + error, fen);
+        }
+    }
+
+    /**
+     * Writes a position in FEN.
+     *
+     * @param position the position.
+     * @return the FEN string.
+     */
+    public static String toString(Position position) {
+        StringBuilder text = new StringBuilder(90);
+        append(position, text);
+        return text.toString();
+    }
+
+    /**
+     * Appends a position in FEN to a builder.
+     *
+     * @param position the position.
+     * @param text     the builder the FEN string is appended to.
+     */
+    public static void append(Position position, StringBuilder text) {
+        for (int rank = 7; rank >= 0; rank--) {
+            int empty = 0;
+            for (int file = 0; file < 8; file++) {
+                int piece = position.pieceAt(rank * 8 + file);
+                if (piece == Position.EMPTY) {
+                    empty++;
+                } else {
+                    if (empty > 0) {
+                        text.append((char) ('0' + empty));
+                        empty = 0;
+                    }
+                    text.append(PIECE_LETTERS.charAt(piece));
+                }
+            }
+            if (empty > 0) {
+                text.append((char) ('0' + empty));
+            }
+            if (rank > 0) {
+                text.append('/');
+            }
+        }
+
+        text.append(position.sideToMove() == Position.WHITE ? " w " : " b ");
+        int rights = position.castlingRights();
+        if (rights == 0) {
+            text.append('-');
+        }
+        for (int index = 0; index < CASTLING_LETTERS.length(); index++) {
+            if ((rights & (1 << index)) != 0) {
+                text.append(CASTLING_LETTERS.charAt(index));
+            }
+        }
+
+        int enPassant = position.enPassantSquare();
+        text.append(' ');
+        if (enPassant < 0) {
+            text.append('-');
+        } else {
+            text.append((char) ('a' + (enPassant & 7))).append((char) ('1' + (enPassant >>> 3)));
+        }
+        text.append(' ').append(position.halfmoveClock()).append(' ').append(position.fullmoveNumber());
+    }
+
+    // Index of the first character at or after the given index that is not a space
+    private static int skipSpaces(CharSequence fen, int i) {
+        while (i < fen.length() && Character.isWhitespace(fen.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // Index of the first space at or after the given index
+    private static int skipField(CharSequence fen, int i) {
+        while (i < fen.length() && !Character.isWhitespace(fen.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // Whether a field ends at the given index
+    private static boolean endOfField(CharSequence fen, int i) {
+        return i >= fen.length() || Character.isWhitespace(fen.charAt(i));
+    }
+
+    // Parses a counter field of up to six digits, or returns -1 if there is none
+    private static int parseCounter(CharSequence fen, int i) {
+        int value = 0;
+        int end = skipField(fen, i);
+        if (end == i || end - i > 6) {
+            return -1;
+        }
+        for (; i < end; i++) {
+            char c = fen.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // The exception for a malformed field
+    private static IllegalArgumentException invalid(String field, CharSequence fen) {
+        return new IllegalArgumentException("Invalid FEN " + field + ": " + fen);
+    }
+}
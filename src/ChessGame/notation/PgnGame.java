@@ -0,0 +1,86 @@
+package ChessGame.notation;
+
+import ChessGame.moves.Move;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The PgnGame class is one game of a PGN file: its tag pairs and its moves.
+ *
+ * The moves are kept as a compact array of encoded {@link Move}s rather than text, in
+ * the order they were played from the starting position; comments, variations and
+ * annotations are not kept.
+ */
+public final class PgnGame {
+    private final Map<String, String> tags;
+    private final int[] moves;
+
+    /**
+     * Creates a game.
+     *
+     * @param tags  the tag pairs, in the order they should be written.
+     * @param moves the encoded moves, each legal after the ones before it.
+     */
+    public PgnGame(Map<String, String> tags, int[] moves) {
+        this.tags = Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+        this.moves = moves;
+    }
+
+    /**
+     * Returns the tag pairs.
+     *
+     * @return an unmodifiable map of tag names to values, in file order.
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Returns the value of a tag.
+     *
+     * @param name the tag name (e.g., "White").
+     * @return the value, or null if the game has no such tag.
+     */
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    /**
+     * Returns the moves. The array is not copied and must not be modified.
+     *
+     * @return the encoded moves.
+     */
+    public int[] getMoves() {
+        return moves;
+    }
+
+    /**
+     * Returns the number of moves (plies) in the game.
+     *
+     * @return the number of moves.
+     */
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /**
+     * Returns the result of the game.
+     *
+     * @return "1-0", "0-1", "1/2-1/2", or "*" if the game is unfinished or the result unknown.
+     */
+    public String getResult() {
+        return tags.getOrDefault("Result", "*");
+    }
+
+    /**
+     * Returns the position the game starts from: the "FEN" tag if the game has one,
+     * otherwise the standard starting position.
+     *
+     * @return the starting position in Forsyth-Edwards Notation.
+     */
+    public String getStartingFen() {
+        return tags.getOrDefault("FEN", Fen.START_POSITION);
+    }
+}
@@ -0,0 +1,390 @@
+package ChessGame.notation;
+
+import ChessGame.Board;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The PgnReader class reads the games of a Portable Game Notation (PGN) file one at a
+ * time, in a single pass, so files of any size can be read in constant memory: only
+ * the current game's tags and moves are held, besides a fixed read buffer.
+ *
+ * Each SAN move is resolved against the legal moves of a {@link Board} that replays the
+ * game, so every move of a returned {@link PgnGame} is legal. Comments, variations,
+ * numeric annotation glyphs and escape lines are skipped. A game without a result
+ * ends where the next game's tags begin.
+ *
+ * If a game has an illegal, ambiguous or unreadable move, or a malformed "FEN" tag,
+ * {@link #next()} throws an {@link IllegalArgumentException} naming the line the game
+ * starts on. The rest of that game has been skipped by then, so the caller can catch
+ * the exception and carry on with the next game.
+ *
+ * A reader is not thread-safe. Reading allocates little besides the returned games: the
+ * buffer, board, move list and token are reused from game to game.
+ */
+public final class PgnReader implements Iterator<PgnGame>, Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int line = 1;
+
+    private final Board board = new Board(Fen.START_POSITION); // Replays the current game
+    private final MoveList legalMoves = new MoveList();
+    private final StringBuilder token = new StringBuilder(32);
+    private final Map<String, String> tags = new LinkedHashMap<>();
+    private int[] moves = new int[256];
+    private int moveCount;
+    private String illegalToken; // First move of the current game that could not be resolved
+
+    private PgnGame nextGame;          // Game read ahead by hasNext
+    private RuntimeException nextError; // Error of the game read ahead, thrown by next
+    private boolean finished;
+
+    /**
+     * Creates a reader. The reader does its own buffering.
+     *
+     * @param in the PGN text.
+     */
+    public PgnReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Checks whether there is another game, reading it if needed.
+     *
+     * @return true if {@link #next()} will return a game or report a broken one; false at the end of the input.
+     * @throws UncheckedIOException if reading fails.
+     */
+    @Override
+    public boolean hasNext() {
+        if (nextGame == null && nextError == null && !finished) {
+            try {
+                nextGame = readGame();
+            } catch (IllegalArgumentException e) {
+                nextError = e;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            finished = nextGame == null && nextError == null;
+        }
+        return !finished;
+    }
+
+    /**
+     * Returns the next game.
+     *
+     * @return the game.
+     * @throws NoSuchElementException   if there are no more games.
+     * @throws IllegalArgumentException if the game cannot be read; the next call continues after it.
+     * @throws UncheckedIOException     if reading fails.
+     */
+    @Override
+    public PgnGame next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        PgnGame game = nextGame;
+        RuntimeException error = nextError;
+        nextGame = null;
+        nextError = null;
+        if (error != null) {
+            throw error;
+        }
+        return game;
+    }
+
+    /**
+     * Returns the remaining games as a sequential stream. Closing the stream closes the
+     * reader.
+     *
+     * @return the stream of games.
+     */
+    public Stream<PgnGame> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Closes the underlying reader.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Reads the tags and movetext of one game; returns null at the end of the input
+    private PgnGame readGame() throws IOException {
+        if (!skipToGame()) {
+            return null;
+        }
+        int firstLine = line;
+        tags.clear();
+        moveCount = 0;
+        while (peek() == '[') {
+            read();
+            readTag();
+            skipWhitespace();
+        }
+
+        String error = null;
+        try {
+            board.loadFen(tags.getOrDefault("FEN", Fen.START_POSITION));
+        } catch (IllegalArgumentException e) {
+            error = e.getMessage();
+        }
+        String result = readMovetext(error == null);
+        if (error == null && illegalToken != null) {
+            error = "Illegal or ambiguous move '" + illegalToken + "'";
+        }
+        illegalToken = null;
+        if (error != null) {
+            throw new IllegalArgumentException("Game starting at line " + firstLine + ": " + error);
+        }
+        tags.putIfAbsent("Result", result);
+        return new PgnGame(tags, Arrays.copyOf(moves, moveCount));
+    }
+
+    // Reads moves up to and including the result; returns the result, or "*" if the game has none
+    private String readMovetext(boolean playMoves) throws IOException {
+        int c;
+        while ((c = read()) >= 0) {
+            switch (c) {
+                case '{':
+                    skipPast('}');
+                    break;
+                case ';':
+                case '%':
+                    skipPast('\n');
+                    break;
+                case '(':
+                    skipVariation();
+                    break;
+                case '$':
+                    while (Character.isDigit(peek())) {
+                        read();
+                    }
+                    break;
+                case '[':
+                    unread(); // The next game's tags: this game had no result
+                    return "*";
+                case '*':
+                    return "*";
+                default:
+                    if (isWhitespace(c)) {
+                        break;
+                    }
+                    readToken(c);
+                    if (isResult(token)) {
+                        return token.toString();
+                    }
+                    if (playMoves && illegalToken == null) {
+                        playToken();
+                    }
+                    break;
+            }
+        }
+        return "*";
+    }
+
+    // Plays the move in the token, after stripping a leading move number such as "12." or "12..."
+    private void playToken() {
+        int start = 0;
+        while (start < token.length() && Character.isDigit(token.charAt(start))) {
+            start++;
+        }
+        if (start == token.length()) {
+            return; // A move number without its period
+        }
+        if (token.charAt(start) != '.') {
+            start = 0; // Not a move number, e.g. castling written with zeros
+        }
+        while (start < token.length() && token.charAt(start) == '.') {
+            start++;
+        }
+        if (start == token.length()) {
+            return; // Only a move number
+        }
+        token.delete(0, start);
+        int move = San.parse(board, token, legalMoves);
+        if (move == Move.NONE) {
+            illegalToken = token.toString();
+            return;
+        }
+        board.makeMove(move);
+        if (moveCount == moves.length) {
+            moves = Arrays.copyOf(moves, moveCount * 2);
+        }
+        moves[moveCount++] = move;
+    }
+
+    // Reads a tag pair after its '['; a malformed tag is skipped
+    private void readTag() throws IOException {
+        skipWhitespace();
+        token.setLength(0);
+        int c;
+        while ((c = read()) >= 0 && !isWhitespace(c) && c != '"' && c != ']') {
+            token.append((char) c);
+        }
+        String name = token.toString();
+        if (c == ']') {
+            return;
+        }
+        if (c != '"') {
+            skipWhitespace();
+            c = read();
+        }
+        if (c != '"') {
+            if (c != ']') {
+                skipPast(']');
+            }
+            return;
+        }
+        token.setLength(0);
+        while ((c = read()) >= 0 && c != '"' && c != '\n') {
+            if (c == '\\' && (peek() == '"' || peek() == '\\')) {
+                c = read();
+            }
+            token.append((char) c);
+        }
+        skipPast(']');
+        if (!name.isEmpty()) {
+            tags.put(name, token.toString());
+        }
+    }
+
+    // Reads a movetext token starting with the given character into the token builder
+    private void readToken(int first) throws IOException {
+        token.setLength(0);
+        token.append((char) first);
+        int c;
+        while ((c = read()) >= 0) {
+            if (isWhitespace(c)) {
+                return;
+            }
+            if ("{}();[]$".indexOf(c) >= 0) {
+                unread();
+                return;
+            }
+            token.append((char) c);
+        }
+    }
+
+    // Skips a variation after its '(', including nested variations and comments inside it
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        int c;
+        while (depth > 0 && (c = read()) >= 0) {
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '{') {
+                skipPast('}');
+            } else if (c == ';') {
+                skipPast('\n');
+            }
+        }
+    }
+
+    // Skips whitespace, comments and escape lines up to the start of the next game; false at the end
+    private boolean skipToGame() throws IOException {
+        int c;
+        while ((c = read()) >= 0) {
+            if (c == '{') {
+                skipPast('}');
+            } else if (c == ';' || c == '%') {
+                skipPast('\n');
+            } else if (!isWhitespace(c)) {
+                unread();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Skips characters up to and including the given one
+    private void skipPast(char end) throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c >= 0 && c != end);
+    }
+
+    // Skips whitespace without consuming the next other character
+    private void skipWhitespace() throws IOException {
+        while (isWhitespace(peek())) {
+            read();
+        }
+    }
+
+    // Whitespace, including the byte order mark some editors put at the start of a file
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == '\uFEFF';
+    }
+
+    // Game termination markers
+    private static boolean isResult(CharSequence text) {
+        return "1-0".contentEquals(text) || "0-1".contentEquals(text) || "1/2-1/2".contentEquals(text);
+    }
+
+    // Next character, or -1 at the end of the input
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    // Next character without consuming it, or -1 at the end of the input
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    // Gives back the character just read; never called for a newline
+    private void unread() {
+        position--;
+    }
+
+    // Refills the buffer; false at the end of the input
+    private boolean fill() throws IOException {
+        int count = in.read(buffer, 0, buffer.length);
+        if (count <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = count;
+        return true;
+    }
+}
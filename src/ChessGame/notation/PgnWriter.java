@@ -0,0 +1,130 @@
+package ChessGame.notation;
+
+import ChessGame.Board;
+import ChessGame.bitboard.Position;
+import ChessGame.moves.MoveList;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * The PgnWriter class writes games in Portable Game Notation (PGN).
+ *
+ * Each game starts with the seven tag roster (Event, Site, Date, Round, White, Black and
+ * Result, with "?" for unknown values) followed by the game's other tags. The moves are
+ * written in SAN, numbered, on lines of at most 80 characters, and end with the result.
+ * Files written this way can be read back by {@link PgnReader}.
+ *
+ * A writer is not thread-safe. Wrap the underlying writer in a
+ * {@link java.io.BufferedWriter} when writing to a file.
+ */
+public final class PgnWriter implements Closeable, Flushable {
+    private static final String[] SEVEN_TAG_ROSTER = {"Event", "Site", "Date", "Round", "White", "Black", "Result"};
+    private static final int LINE_LENGTH = 80;
+
+    private final Writer out;
+    private final Board board = new Board(Fen.START_POSITION); // Replays the game for SAN
+    private final MoveList legalMoves = new MoveList();
+    private final StringBuilder text = new StringBuilder(1024);
+    private final StringBuilder san = new StringBuilder(8);
+
+    /**
+     * Creates a writer.
+     *
+     * @param out where the PGN text goes.
+     */
+    public PgnWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes one game, followed by a blank line.
+     *
+     * @param game the game.
+     * @throws IOException if writing fails.
+     * @throws IllegalArgumentException if the game's "FEN" tag is malformed.
+     */
+    public void write(PgnGame game) throws IOException {
+        text.setLength(0);
+        for (String name : SEVEN_TAG_ROSTER) {
+            String value = game.getTag(name);
+            appendTag(name, value != null ? value : name.equals("Date") ? "????.??.??"
+                    : name.equals("Result") ? game.getResult() : "?");
+        }
+        for (Map.Entry<String, String> tag : game.getTags().entrySet()) {
+            if (!isSevenTagRoster(tag.getKey())) {
+                appendTag(tag.getKey(), tag.getValue());
+            }
+        }
+        text.append('\n');
+
+        board.loadFen(game.getStartingFen());
+        int lineStart = text.length();
+        int[] moves = game.getMoves();
+        for (int i = 0; i < moves.length; i++) {
+            san.setLength(0);
+            boolean whiteMoves = board.sideToMove() == Position.WHITE;
+            if (whiteMoves) {
+                san.append(board.fullmoveNumber()).append(". ");
+            } else if (i == 0) {
+                san.append(board.fullmoveNumber()).append("... ");
+            }
+            San.append(board, moves[i], legalMoves, san);
+            board.makeMove(moves[i]);
+            lineStart = appendWord(san, lineStart);
+        }
+        appendWord(game.getResult(), lineStart);
+        text.append("\n\n");
+        out.write(text.toString());
+    }
+
+    // Appends a word to the movetext, starting a new line when it would not fit; returns the line start
+    private int appendWord(CharSequence word, int lineStart) {
+        if (text.length() > lineStart) {
+            if (text.length() - lineStart + 1 + word.length() > LINE_LENGTH) {
+                text.append('\n');
+                lineStart = text.length();
+            } else {
+                text.append(' ');
+            }
+        }
+        text.append(word);
+        return lineStart;
+    }
+
+    // Appends a tag pair line, escaping quotes and backslashes in the value
+    private void appendTag(String name, String value) {
+        text.append('[').append(name).append(" \"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                text.append('\\');
+            }
+            text.append(c);
+        }
+        text.append("\"]\n");
+    }
+
+    // Whether a tag is written with the seven tag roster
+    private static boolean isSevenTagRoster(String name) {
+        for (String rosterName : SEVEN_TAG_ROSTER) {
+            if (rosterName.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,212 @@
+package ChessGame.notation;
+
+import ChessGame.Board;
+import ChessGame.bitboard.Position;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
+
+/**
+ * The San class reads and writes moves in Standard Algebraic Notation (SAN), the move
+ * format of PGN files (e.g., "e4", "Nbd7", "exd5", "O-O", "e8=Q+").
+ *
+ * A SAN move only makes sense in its position, so both directions work against the
+ * legal moves of a {@link Board}. Reading is lenient about what writers disagree on:
+ * check and annotation suffixes are ignored, castling may be written with zeros, the
+ * '=' before a promotion piece may be missing and the 'x' of a capture is optional.
+ * Reading allocates nothing; the caller passes in a move list to generate into, and only
+ * the moves to the destination square are generated.
+ */
+public final class San {
+    private static final String PIECE_LETTERS = "PNBRQK"; // Indexed by piece type
+
+    private San() {
+    }
+
+    /**
+     * Finds the legal move a SAN string describes.
+     *
+     * @param board  the position the move is played in.
+     * @param san    the move in SAN.
+     * @param buffer a scratch move list; its contents are replaced.
+     * @return the encoded move, or {@link Move#NONE} if the string is malformed, describes
+     *         no legal move or is ambiguous.
+     */
+    public static int parse(Board board, CharSequence san, MoveList buffer) {
+        int end = san.length();
+        while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        if (end < 2) {
+            return Move.NONE;
+        }
+        buffer.clear();
+        if (san.charAt(0) == 'O' || san.charAt(0) == '0') {
+            board.generateLegalMoves(buffer);
+            int flags = castlingFlags(san, end);
+            for (int i = 0; i < buffer.size(); i++) {
+                if (Move.flags(buffer.get(i)) == flags) {
+                    return buffer.get(i);
+                }
+            }
+            return Move.NONE;
+        }
+
+        // Piece letter, then optional disambiguation and 'x', then the destination and promotion
+        int start = 0;
+        int type = Position.PAWN;
+        int letter = PIECE_LETTERS.indexOf(san.charAt(0));
+        if (letter >= 0) {
+            type = letter;
+            start = 1;
+        }
+        int promotionType = -1;
+        int promotionLetter = PIECE_LETTERS.indexOf(Character.toUpperCase(san.charAt(end - 1)));
+        if (type == Position.PAWN && promotionLetter > Position.PAWN && promotionLetter < Position.KING) {
+            promotionType = promotionLetter;
+            end -= san.charAt(end - 2) == '=' ? 2 : 1;
+        }
+        if (end - start < 2) {
+            return Move.NONE;
+        }
+        int toFile = san.charAt(end - 2) - 'a';
+        int toRank = san.charAt(end - 1) - '1';
+        if (toFile < 0 || toFile > 7 || toRank < 0 || toRank > 7) {
+            return Move.NONE;
+        }
+        int to = toRank * 8 + toFile;
+        int fromFile = -1;
+        int fromRank = -1;
+        for (int i = start; i < end - 2; i++) {
+            char c = san.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                fromFile = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRank = c - '1';
+            } else if (c != 'x' && c != ':' && c != '-') {
+                return Move.NONE;
+            }
+        }
+
+        board.generateLegalMoves(buffer, 1L << to);
+        int found = Move.NONE;
+        for (int i = 0; i < buffer.size(); i++) {
+            int move = buffer.get(i);
+            int from = Move.from(move);
+            if (Position.typeOf(board.pieceAt(from)) != type
+                    || fromFile >= 0 && (from & 7) != fromFile
+                    || fromRank >= 0 && (from >>> 3) != fromRank
+                    || Move.flags(move) == Move.KING_CASTLE || Move.flags(move) == Move.QUEEN_CASTLE) {
+                continue;
+            }
+            if (Move.isPromotion(move) ? Move.promotionType(move) != promotionType : promotionType >= 0) {
+                continue;
+            }
+            if (found != Move.NONE) {
+                return Move.NONE; // Ambiguous
+            }
+            found = move;
+        }
+        return found;
+    }
+
+    // Castling flags of "O-O" or "O-O-O" (also written with zeros), or -1 if neither
+    private static int castlingFlags(CharSequence san, int end) {
+        int zeros = 0;
+        for (int i = 0; i < end; i++) {
+            char c = san.charAt(i);
+            if (c == 'O' || c == '0') {
+                zeros++;
+            } else if (c != '-') {
+                return -1;
+            }
+        }
+        return zeros == 2 ? Move.KING_CASTLE : zeros == 3 ? Move.QUEEN_CASTLE : -1;
+    }
+
+    /**
+     * Writes a legal move in SAN, with a '+' or '#' suffix if it gives check or mate.
+     *
+     * @param board  the position the move is played in; it is unchanged afterwards.
+     * @param move   the encoded move, legal in the position.
+     * @param buffer a scratch move list; its contents are replaced.
+     * @return the move in SAN.
+     */
+    public static String toString(Board board, int move, MoveList buffer) {
+        StringBuilder text = new StringBuilder(8);
+        append(board, move, buffer, text);
+        return text.toString();
+    }
+
+    /**
+     * Appends a legal move in SAN, with a '+' or '#' suffix if it gives check or mate.
+     *
+     * @param board  the position the move is played in; it is unchanged afterwards.
+     * @param move   the encoded move, legal in the position.
+     * @param buffer a scratch move list; its contents are replaced.
+     * @param text   the builder the move is appended to.
+     */
+    public static void append(Board board, int move, MoveList buffer, StringBuilder text) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        int flags = Move.flags(move);
+        int type = Position.typeOf(board.pieceAt(from));
+
+        if (flags == Move.KING_CASTLE) {
+            text.append("O-O");
+        } else if (flags == Move.QUEEN_CASTLE) {
+            text.append("O-O-O");
+        } else if (type == Position.PAWN) {
+            if (Move.isCapture(move)) {
+                text.append((char) ('a' + (from & 7))).append('x');
+            }
+            appendSquare(to, text);
+            if (Move.isPromotion(move)) {
+                text.append('=').append(PIECE_LETTERS.charAt(Move.promotionType(move)));
+            }
+        } else {
+            text.append(PIECE_LETTERS.charAt(type));
+            appendDisambiguation(board, move, type, buffer, text);
+            if (Move.isCapture(move)) {
+                text.append('x');
+            }
+            appendSquare(to, text);
+        }
+
+        board.makeMove(move);
+        if (board.isInCheck()) {
+            buffer.clear();
+            board.generateLegalMoves(buffer);
+            text.append(buffer.isEmpty() ? '#' : '+');
+        }
+        board.unmakeMove();
+    }
+
+    // Adds the starting file, rank or both when another piece of the type can reach the square
+    private static void appendDisambiguation(Board board, int move, int type, MoveList buffer, StringBuilder text) {
+        int from = Move.from(move);
+        boolean ambiguous = false;
+        boolean sameFile = false;
+        boolean sameRank = false;
+        buffer.clear();
+        board.generateLegalMoves(buffer, 1L << Move.to(move));
+        for (int i = 0; i < buffer.size(); i++) {
+            int other = Move.from(buffer.get(i));
+            if (other != from && Position.typeOf(board.pieceAt(other)) == type) {
+                ambiguous = true;
+                sameFile |= (other & 7) == (from & 7);
+                sameRank |= (other >>> 3) == (from >>> 3);
+            }
+        }
+        if (ambiguous && (!sameFile || sameRank)) {
+            text.append((char) ('a' + (from & 7)));
+        }
+        if (ambiguous && sameFile) {
+            text.append((char) ('1' + (from >>> 3)));
+        }
+    }
+
+    // Lower-case square name
+    private static void appendSquare(int square, StringBuilder text) {
+        text.append((char) ('a' + (square & 7))).append((char) ('1' + (square >>> 3)));
+    }
+}
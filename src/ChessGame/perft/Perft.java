@@ -0,0 +1,93 @@
+package ChessGame.perft;
+
+import ChessGame.Board;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The Perft class counts the leaf nodes of the legal move tree of a position to a fixed
+ * depth. Comparing the counts with known reference values checks the move generator,
+ * and timing them measures how fast {@link Board} can enumerate positions.
+ *
+ * The board is walked with {@link Board#makeMove(int)} and {@link Board#unmakeMove()},
+ * using one preallocated {@link MoveList} per ply, so a run allocates nothing.
+ */
+public class Perft {
+    private static final int MAX_DEPTH = 64;
+
+    private final Board board;
+    private final MoveList[] moveLists = new MoveList[MAX_DEPTH];
+
+    /**
+     * Creates a perft counter for a board. The board is left in its original position
+     * after every call.
+     *
+     * @param board the board to enumerate.
+     */
+    public Perft(Board board) {
+        this.board = board;
+        for (int ply = 0; ply < MAX_DEPTH; ply++) {
+            moveLists[ply] = new MoveList();
+        }
+    }
+
+    /**
+     * Counts the positions reachable in exactly {@code depth} moves.
+     *
+     * @param depth the number of plies, 0 to 63.
+     * @return the number of leaf nodes.
+     */
+    public long perft(int depth) {
+        if (depth < 0 || depth >= MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 0 and " + (MAX_DEPTH - 1) + ": " + depth);
+        }
+        return count(depth);
+    }
+
+    /**
+     * Counts the leaf nodes below each legal move of the current position.
+     *
+     * @param depth the number of plies, including the root move, 1 to 63.
+     * @return the node count for each root move in coordinate notation, in generation order.
+     */
+    public Map<String, Long> divide(int depth) {
+        if (depth < 1 || depth >= MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + (MAX_DEPTH - 1) + ": " + depth);
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        MoveList moves = moveLists[depth];
+        moves.clear();
+        board.generateLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            board.makeMove(move);
+            counts.put(Move.toString(move), count(depth - 1));
+            board.unmakeMove();
+        }
+        return counts;
+    }
+
+    // Recursive node count; the last ply is counted from the move list without playing it
+    private long count(int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = moveLists[depth];
+        moves.clear();
+        board.generateLegalMoves(moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            nodes += count(depth - 1);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+}
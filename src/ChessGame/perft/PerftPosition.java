@@ -0,0 +1,109 @@
+package ChessGame.perft;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The PerftPosition class pairs a position with its known perft node counts.
+ * Positions can be written as EPD lines in the common perft-suite format:
+ * {@code <fen> ;D1 20 ;D2 400 ;D3 8902}.
+ */
+public class PerftPosition {
+    private final String name;
+    private final String fen;
+    private final long[] expected; // expected[d - 1] is the count at depth d
+
+    /**
+     * Constructor for the PerftPosition class.
+     *
+     * @param name     a short label for reports.
+     * @param fen      the position in Forsyth-Edwards Notation.
+     * @param expected the expected node counts for depth 1, 2, 3 and so on.
+     */
+    public PerftPosition(String name, String fen, long... expected) {
+        this.name = name;
+        this.fen = fen;
+        this.expected = expected.clone();
+    }
+
+    /**
+     * The standard reference positions used to validate move generators, covering
+     * castling, en passant, promotions, pins and discovered checks.
+     *
+     * @return the reference positions.
+     */
+    public static List<PerftPosition> referencePositions() {
+        List<PerftPosition> positions = new ArrayList<>();
+        positions.add(new PerftPosition("start",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                20, 400, 8902, 197281, 4865609, 119060324));
+        positions.add(new PerftPosition("kiwipete",
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                48, 2039, 97862, 4085603, 193690690));
+        positions.add(new PerftPosition("position3",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                14, 191, 2812, 43238, 674624, 11030083));
+        positions.add(new PerftPosition("position4",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                6, 264, 9467, 422333, 15833292));
+        positions.add(new PerftPosition("position5",
+                "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                44, 1486, 62379, 2103487, 89941194));
+        positions.add(new PerftPosition("position6",
+                "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                46, 2079, 89890, 3894594, 164075551));
+        return positions;
+    }
+
+    /**
+     * Parses one EPD line of a perft suite.
+     *
+     * @param name a short label for reports.
+     * @param line the line, e.g. {@code <fen> ;D1 20 ;D2 400}.
+     * @return the parsed position.
+     * @throws IllegalArgumentException if a depth entry is malformed.
+     */
+    public static PerftPosition parse(String name, String line) {
+        String[] parts = line.split(";");
+        long[] counts = new long[parts.length - 1];
+        for (int i = 1; i < parts.length; i++) {
+            String[] entry = parts[i].trim().split("\\s+");
+            if (entry.length != 2 || !entry[0].startsWith("D")) {
+                throw new IllegalArgumentException("Invalid perft entry '" + parts[i].trim() + "' in: " + line);
+            }
+            int depth = Integer.parseInt(entry[0].substring(1));
+            if (depth != i) {
+                throw new IllegalArgumentException("Perft depths must be listed from D1 upwards: " + line);
+            }
+            counts[i - 1] = Long.parseLong(entry[1]);
+        }
+        return new PerftPosition(name, parts[0].trim(), counts);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getFen() {
+        return fen;
+    }
+
+    /**
+     * Returns the deepest depth with a known node count.
+     *
+     * @return the maximum depth, or 0 if no counts are known.
+     */
+    public int getMaxDepth() {
+        return expected.length;
+    }
+
+    /**
+     * Returns the expected node count at a depth.
+     *
+     * @param depth the depth, 1 to {@link #getMaxDepth()}.
+     * @return the expected number of leaf nodes.
+     */
+    public long getExpected(int depth) {
+        return expected[depth - 1];
+    }
+}
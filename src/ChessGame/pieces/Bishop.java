@@ -1,8 +1,9 @@
 package ChessGame.pieces;
 
-import ChessGame.Board;
-import java.util.ArrayList;
-import java.util.List;
+import ChessGame.bitboard.AttackTables;
+import ChessGame.bitboard.Bitboards;
+import ChessGame.bitboard.Position;
+import ChessGame.moves.MoveList;
 
 
 /**
@@ -24,58 +25,46 @@ public class Bishop extends Piece {
     }
 
     /**
-     * Calculates and returns a list of all possible moves for the bishop based on its
-     * current position and the state of the chessboard.
+     * Adds the possible moves for the bishop to a move list.
      *
      * Bishops can move diagonally in any direction without limit, provided there are no
      * pieces of the same color blocking the path. If an opponent's piece is encountered,
      * the bishop can capture it, but cannot move beyond it.
      *
-     * @param board a 2D array representing the chessboard, where each element is a Piece
-     *              or null if the square is empty.
-     * @return a list of possible moves in chess notation (e.g., "D4", "F6").
+     * @param board the position the bishop stands in.
+     * @param moves the list the moves are appended to.
      */
     @Override
-    public List<String> possibleMoves(Piece[][] board) {
-        List<String> moves = new ArrayList<>();
-        int[] pos = Board.parsePosition(position);
-        int row = pos[0];
-        int col = pos[1];
-
-        // Directions: top-left, top-right, bottom-left, bottom-right
-        int[][] directions = {
-                {-1, -1}, {-1, 1}, // Diagonal up-left, up-right
-                {1, -1}, {1, 1}    // Diagonal down-left, down-right
-        };
-
-        // Iterate through each direction
-        for (int[] direction : directions) {
-            int newRow = row + direction[0];
-            int newCol = col + direction[1];
-
-            // Continue moving in the current direction until blocked
-            while (newRow >= 0 && newRow < 8 && newCol >= 0 && newCol < 8) {
-                Piece targetPiece = board[newRow][newCol];
+    public void possibleMoves(Position board, MoveList moves) {
+        generateMoves(board, Bitboards.parseSquare(position), moves);
+    }
 
-                if (targetPiece == null) {
-                    // Square is empty, add to possible moves
-                    moves.add(Board.convertToChessNotation(newRow, newCol));
-                } else {
-                    // Square is occupied, check if it's an opponent's piece
-                    if (!targetPiece.getColor().equals(this.color)) {
-                        moves.add(Board.convertToChessNotation(newRow, newCol));
-                    }
-                    // Stop exploring this direction after encountering any piece
-                    break;
-                }
+    /**
+     * Adds the moves of the bishop on a square to a move list.
+     *
+     * @param board the position to generate moves in.
+     * @param from  the square of the bishop.
+     * @param moves the list the moves are appended to.
+     */
+    public static void generateMoves(Position board, int from, MoveList moves) {
+        generateMoves(board, from, -1L, moves);
+    }
 
-                // Move further in the current direction
-                newRow += direction[0];
-                newCol += direction[1];
-            }
-        }
+    /**
+     * Adds the moves of the bishop on a square to a move list, keeping only those that
+     * land on a square of the given mask.
+     *
+     * @param board the position to generate moves in.
+     * @param from  the square of the bishop.
+     * @param mask  the squares the bishop may move to, e.g. to block a check or stay on a pin line.
+     * @param moves the list the moves are appended to.
+     */
+    public static void generateMoves(Position board, int from, long mask, MoveList moves) {
+        int color = Position.colorOf(board.pieceAt(from));
 
-        return moves;
+        // Slide along each diagonal until blocked, excluding our own pieces
+        long targets = AttackTables.bishop(from, board.occupied()) & ~board.occupancy(color) & mask;
+        addMoves(board, from, targets, moves);
     }
 
     /**
@@ -1,8 +1,10 @@
 package ChessGame.pieces;
 
-import ChessGame.Board;
-import java.util.ArrayList;
-import java.util.List;
+import ChessGame.bitboard.AttackTables;
+import ChessGame.bitboard.Bitboards;
+import ChessGame.bitboard.Position;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
 
 /**
  * The King class represents a king in the game of chess.
@@ -21,58 +23,89 @@ public class King extends Piece {
     }
 
     /**
-     * Returns an array of possible moves for the king.
+     * Adds the possible moves for the king to a move list.
      * Kings can move one square in any direction (horizontally, vertically, or diagonally)
      * and capture opponent pieces, as long as they do not move into a square that is under attack
-     * (i.e., a square that would put the king in check).
+     * (i.e., a square that would put the king in check). Castling is included, as it is by
+     * {@link #generateMoves(Position, int, MoveList)}, which this method goes through.
      *
-     * @return an array of possible moves in chess notation
+     * @param board the position the king stands in.
+     * @param moves the list the moves are appended to.
      */
     @Override
-    public List<String> possibleMoves(Piece[][] board) {
-        List<String> moves = new ArrayList<>();
-        int[] pos = Board.parsePosition(position);
-        int row = pos[0];
-        int col = pos[1];
+    public void possibleMoves(Position board, MoveList moves) {
+        int from = Bitboards.parseSquare(position);
+        int color = Position.colorOf(board.pieceAt(from));
 
-        // Directions: one square in each direction
-        int[][] directions = {
-                {-1, -1}, {-1, 0}, {-1, 1}, // Up-left, up, up-right
-                {0, -1},         {0, 1},   // Left, right
-                {1, -1}, {1, 0}, {1, 1}    // Down-left, down, down-right
-        };
-
-        for (int[] direction : directions) {
-            int newRow = row + direction[0];
-            int newCol = col + direction[1];
+        // Test each step without the king on the board, so squares behind it on an attacking
+        // ray count as attacked; the position itself is only read
+        long occupied = board.occupied() ^ Bitboards.bit(from);
+        long steps = AttackTables.king(from) & ~board.occupancy(color);
+        long safe = 0L;
+        while (steps != 0) {
+            int to = Long.numberOfTrailingZeros(steps);
+            if (board.attackersOf(to, color ^ 1, occupied) == 0) {
+                safe |= Bitboards.bit(to);
+            }
+            steps &= steps - 1;
+        }
+        generateMoves(board, from, safe, moves);
+    }
 
-            // Ensure the move is within bounds
-            if (newRow >= 0 && newRow < 8 && newCol >= 0 && newCol < 8) {
-                Piece targetPiece = board[newRow][newCol];
+    /**
+     * Adds the moves of the king on a square to a move list, including castling.
+     * Whether the destination of a one-square step is attacked is left to the caller's
+     * legality check; castling moves are always fully checked.
+     *
+     * @param board the position to generate moves in.
+     * @param from  the square of the king.
+     * @param moves the list the moves are appended to.
+     */
+    public static void generateMoves(Position board, int from, MoveList moves) {
+        generateMoves(board, from, -1L, moves);
+    }
 
-                // Ensure the square is empty or contains an opponent's piece
-                if (targetPiece == null || !targetPiece.getColor().equals(this.color)) {
-                    String move = Board.convertToChessNotation(newRow, newCol);
+    /**
+     * Adds the moves of the king on a square to a move list, keeping only the one-square
+     * steps that land on a square of the given mask. Castling is not restricted by the mask.
+     *
+     * @param board the position to generate moves in.
+     * @param from  the square of the king.
+     * @param mask  the squares the king may step to, e.g. the squares the enemy does not attack.
+     * @param moves the list the moves are appended to.
+     */
+    public static void generateMoves(Position board, int from, long mask, MoveList moves) {
+        int color = Position.colorOf(board.pieceAt(from));
 
-                    // Simulate the move and check if it puts the king in check
-                    Piece[][] boardCopy = Board.copyBoard(board);
-                    boardCopy[newRow][newCol] = this;
-                    boardCopy[row][col] = null;
+        // One square in each direction, excluding our own pieces
+        long targets = AttackTables.king(from) & ~board.occupancy(color) & mask;
+        addMoves(board, from, targets, moves);
 
-                    if (!isKingInCheckAfterMove(boardCopy)) {
-                        moves.add(move);
-                    }
-                }
-            }
+        // Castling: the right is still held, the squares between king and rook are empty,
+        // and the king neither starts in check nor passes through or lands on an attacked square
+        int homeRank = color == Position.WHITE ? 0 : 56;
+        if (from != homeRank + 4) {
+            return;
         }
+        int rights = board.castlingRights();
+        int kingside = color == Position.WHITE ? Position.WHITE_KINGSIDE : Position.BLACK_KINGSIDE;
+        int queenside = color == Position.WHITE ? Position.WHITE_QUEENSIDE : Position.BLACK_QUEENSIDE;
+        long occupied = board.occupied();
+        long rooks = board.pieces(color, Position.ROOK);
+        int enemy = color ^ 1;
 
-        return moves;
-    }
-
-    // Helper to check if the king is in check after a move
-    private boolean isKingInCheckAfterMove(Piece[][] boardCopy) {
-        Board tempBoard = new Board(boardCopy); // Create a temporary board with the modified state
-        return tempBoard.isKingInCheck(this.color);
+        if ((rights & kingside) != 0 && (rooks & Bitboards.bit(homeRank + 7)) != 0
+                && (occupied & (0x60L << homeRank)) == 0
+                && !board.isSquareAttacked(from, enemy) && !board.isSquareAttacked(from + 1, enemy)
+                && !board.isSquareAttacked(from + 2, enemy)) {
+            moves.add(Move.of(from, from + 2, Move.KING_CASTLE));
+        }
+        if ((rights & queenside) != 0 && (rooks & Bitboards.bit(homeRank)) != 0
+                && (occupied & (0x0EL << homeRank)) == 0
+                && !board.isSquareAttacked(from, enemy) && !board.isSquareAttacked(from - 1, enemy)
+                && !board.isSquareAttacked(from - 2, enemy)) {
+            moves.add(Move.of(from, from - 2, Move.QUEEN_CASTLE));
+        }
     }
 
     /**
@@ -1,8 +1,9 @@
 package ChessGame.pieces;
 
-import ChessGame.Board;
-import java.util.ArrayList;
-import java.util.List;
+import ChessGame.bitboard.AttackTables;
+import ChessGame.bitboard.Bitboards;
+import ChessGame.bitboard.Position;
+import ChessGame.moves.MoveList;
 
 /**
  * The Knight class represents a knight in the game of chess.
@@ -22,43 +23,43 @@ public class Knight extends Piece {
     }
 
     /**
-     * Returns an array of possible moves for the knight.
+     * Adds the possible moves for the knight to a move list.
      * Knights move in an "L" shape: two squares in one direction and one square perpendicular.
      *
-     * @return an array of possible moves in chess notation
+     * @param board the position the knight stands in.
+     * @param moves the list the moves are appended to.
      */
     @Override
-    public List<String> possibleMoves(Piece[][] board) {
-        List<String> moves = new ArrayList<>();
-        int[] pos = Board.parsePosition(position); // Convert chess notation to array indices
-        int row = pos[0];
-        int col = pos[1];
-
-        // All possible relative moves for a knight
-        int[][] moveOffsets = {
-                {-2, -1}, {-2, +1}, // Up two, left one or right one
-                {-1, -2}, {-1, +2}, // Up one, left two or right two
-                {+1, -2}, {+1, +2}, // Down one, left two or right two
-                {+2, -1}, {+2, +1}  // Down two, left one or right one
-        };
-
-        // Check each possible move
-        for (int[] offset : moveOffsets) {
-            int newRow = row + offset[0];
-            int newCol = col + offset[1];
+    public void possibleMoves(Position board, MoveList moves) {
+        generateMoves(board, Bitboards.parseSquare(position), moves);
+    }
 
-            // Ensure the move is within bounds
-            if (newRow >= 0 && newRow < 8 && newCol >= 0 && newCol < 8) {
-                Piece targetPiece = board[newRow][newCol];
+    /**
+     * Adds the moves of the knight on a square to a move list.
+     *
+     * @param board the position to generate moves in.
+     * @param from  the square of the knight.
+     * @param moves the list the moves are appended to.
+     */
+    public static void generateMoves(Position board, int from, MoveList moves) {
+        generateMoves(board, from, -1L, moves);
+    }
 
-                // Ensure the square is empty or contains an opponent's piece
-                if (targetPiece == null || !targetPiece.getColor().equals(this.color)) {
-                    moves.add(Board.convertToChessNotation(newRow, newCol));
-                }
-            }
-        }
+    /**
+     * Adds the moves of the knight on a square to a move list, keeping only those that
+     * land on a square of the given mask.
+     *
+     * @param board the position to generate moves in.
+     * @param from  the square of the knight.
+     * @param mask  the squares the knight may move to, e.g. to block a check or stay on a pin line.
+     * @param moves the list the moves are appended to.
+     */
+    public static void generateMoves(Position board, int from, long mask, MoveList moves) {
+        int color = Position.colorOf(board.pieceAt(from));
 
-        return moves;
+        // Ensure each target square is empty or contains an opponent's piece
+        long targets = AttackTables.knight(from) & ~board.occupancy(color) & mask;
+        addMoves(board, from, targets, moves);
     }
 
     /**
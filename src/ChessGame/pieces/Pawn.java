@@ -1,8 +1,10 @@
 package ChessGame.pieces;
 
-import ChessGame.Board;
-import java.util.ArrayList;
-import java.util.List;
+import ChessGame.bitboard.AttackTables;
+import ChessGame.bitboard.Bitboards;
+import ChessGame.bitboard.Position;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
 
 
 /**
@@ -22,50 +24,102 @@ public class Pawn extends Piece {
     }
 
     /**
-     * Returns an array of possible moves for the pawn.
+     * Adds the possible moves for the pawn to a move list.
      * Pawns can move one square forward, or two squares forward from their starting position.
-     * They capture diagonally.
+     * They capture diagonally, including en passant, and are promoted when they reach the last rank.
      *
-     * @return an array of possible moves in chess notation
+     * @param board the position the pawn stands in.
+     * @param moves the list the moves are appended to.
      */
     @Override
-    public List<String> possibleMoves(Piece[][] board) {
-        List<String> moves = new ArrayList<>();
-        int[] position = Board.parsePosition(this.position);
-        int row = position[0];
-        int col = position[1];
+    public void possibleMoves(Position board, MoveList moves) {
+        generateMoves(board, Bitboards.parseSquare(position), moves);
+    }
 
-        int direction = this.color.equals("white") ? -1 : 1; // White moves up (-1), Black moves down (+1)
+    /**
+     * Adds the moves of the pawn on a square to a move list.
+     *
+     * @param board the position to generate moves in.
+     * @param from  the square of the pawn.
+     * @param moves the list the moves are appended to.
+     */
+    public static void generateMoves(Position board, int from, MoveList moves) {
+        generateMoves(board, from, -1L, moves);
+    }
+
+    /**
+     * Adds the moves of the pawn on a square to a move list, keeping only those that
+     * land on a square of the given mask. An en-passant capture is kept when either the
+     * target square or the captured pawn is in the mask, and only if it does not expose
+     * the pawn's own king along the rank or a diagonal.
+     *
+     * @param board the position to generate moves in.
+     * @param from  the square of the pawn.
+     * @param mask  the squares the pawn may move to, e.g. to block a check or stay on a pin line.
+     * @param moves the list the moves are appended to.
+     */
+    public static void generateMoves(Position board, int from, long mask, MoveList moves) {
+        int color = Position.colorOf(board.pieceAt(from));
+        long occupied = board.occupied();
+        int forward = color == Position.WHITE ? 8 : -8; // White moves up the ranks, Black moves down
 
         // Forward movement (one square)
-        if (Board.isInBounds(row + direction, col) && board[row + direction][col] == null) {
-            moves.add(Board.convertToChessNotation(row + direction, col));
-        }
+        int single = from + forward;
+        if (single >= 0 && single < 64 && (occupied & Bitboards.bit(single)) == 0) {
+            if ((mask & Bitboards.bit(single)) != 0) {
+                addPawnMove(from, single, false, moves);
+            }
 
-        // Forward movement (two squares) - only if the pawn is on its starting row
-        if ((this.color.equals("white") && row == 6) || (this.color.equals("black") && row == 1)) {
-            if (board[row + direction][col] == null && board[row + 2 * direction][col] == null) {
-                moves.add(Board.convertToChessNotation(row + 2 * direction, col));
+            // Forward movement (two squares) - only if the pawn is on its starting rank
+            long startRank = color == Position.WHITE ? Bitboards.RANK_2 : Bitboards.RANK_7;
+            int twoSquares = single + forward;
+            if ((Bitboards.bit(from) & startRank) != 0
+                    && (occupied & Bitboards.bit(twoSquares)) == 0 && (mask & Bitboards.bit(twoSquares)) != 0) {
+                moves.add(Move.of(from, twoSquares, Move.DOUBLE_PAWN_PUSH));
             }
         }
 
-        // Diagonal capture (forward-left)
-        if (Board.isInBounds(row + direction, col - 1)) {
-            Piece targetPiece = board[row + direction][col - 1];
-            if (targetPiece != null && !targetPiece.getColor().equals(this.color)) {
-                moves.add(Board.convertToChessNotation(row + direction, col - 1));
-            }
+        // Diagonal captures
+        long captures = AttackTables.pawn(color, from) & board.occupancy(color ^ 1) & mask;
+        while (captures != 0) {
+            int to = Long.numberOfTrailingZeros(captures);
+            captures &= captures - 1;
+            addPawnMove(from, to, true, moves);
         }
 
-        // Diagonal capture (forward-right)
-        if (Board.isInBounds(row + direction, col + 1)) {
-            Piece targetPiece = board[row + direction][col + 1];
-            if (targetPiece != null && !targetPiece.getColor().equals(this.color)) {
-                moves.add(Board.convertToChessNotation(row + direction, col + 1));
+        // En passant, only available to the side to move right after a double push
+        int enPassant = board.enPassantSquare();
+        if (enPassant >= 0 && color == board.sideToMove()
+                && (AttackTables.pawn(color, from) & Bitboards.bit(enPassant)) != 0) {
+            int captured = enPassant - forward;
+            if ((mask & (Bitboards.bit(enPassant) | Bitboards.bit(captured))) != 0
+                    && !enPassantExposesKing(board, color, from, enPassant, captured)) {
+                moves.add(Move.of(from, enPassant, Move.EN_PASSANT));
             }
         }
+    }
+
+    // Checks whether removing both pawns from their squares leaves the king attacked; en passant is the
+    // one capture that empties two squares on the king's lines at once, so pin masks alone miss it
+    private static boolean enPassantExposesKing(Position board, int color, int from, int to, int captured) {
+        int king = board.kingSquare(color);
+        if (king < 0) {
+            return false;
+        }
+        long occupied = (board.occupied() ^ Bitboards.bit(from) ^ Bitboards.bit(captured)) | Bitboards.bit(to);
+        return (board.attackersOf(king, color ^ 1, occupied) & ~Bitboards.bit(captured)) != 0;
+    }
 
-        return moves;
+    // Adds a pawn move, expanding it into the four promotions on the last rank
+    private static void addPawnMove(int from, int to, boolean capture, MoveList moves) {
+        if ((Bitboards.bit(to) & (Bitboards.RANK_1 | Bitboards.RANK_8)) != 0) {
+            moves.add(Move.promotion(from, to, Position.QUEEN, capture));
+            moves.add(Move.promotion(from, to, Position.ROOK, capture));
+            moves.add(Move.promotion(from, to, Position.BISHOP, capture));
+            moves.add(Move.promotion(from, to, Position.KNIGHT, capture));
+        } else {
+            moves.add(Move.of(from, to, capture ? Move.CAPTURE : Move.QUIET));
+        }
     }
 
     /**
@@ -1,6 +1,8 @@
 package ChessGame.pieces;
 
-import java.util.List;
+import ChessGame.bitboard.Position;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
 
 
 /**
@@ -45,7 +47,25 @@ public abstract class Piece {
     }
 
     // Abstract method to be implemented by each specific piece type
-    public abstract List<String> possibleMoves(Piece[][] board);
+    public abstract void possibleMoves(Position board, MoveList moves);
+
+    /**
+     * Appends a move from one square to each target square, flagging the moves that
+     * land on an occupied square as captures.
+     *
+     * @param board   the position the moves are generated for.
+     * @param from    the starting square.
+     * @param targets a bitboard of destination squares, without squares of the moving color.
+     * @param moves   the list the moves are appended to.
+     */
+    protected static void addMoves(Position board, int from, long targets, MoveList moves) {
+        long occupied = board.occupied();
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moves.add(Move.of(from, to, (occupied & (1L << to)) != 0 ? Move.CAPTURE : Move.QUIET));
+        }
+    }
 
     /**
      * Method to return the Unicode representation of the piece.
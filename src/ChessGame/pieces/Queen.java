@@ -1,8 +1,9 @@
 package ChessGame.pieces;
 
-import ChessGame.Board;
-import java.util.ArrayList;
-import java.util.List;
+import ChessGame.bitboard.AttackTables;
+import ChessGame.bitboard.Bitboards;
+import ChessGame.bitboard.Position;
+import ChessGame.moves.MoveList;
 
 /**
  * The Queen class represents a queen in the game of chess.
@@ -24,53 +25,44 @@ public class Queen extends Piece {
     }
 
     /**
-     * Returns an array of possible moves for the queen.
+     * Adds the possible moves for the queen to a move list.
      * The queen can move any number of squares in any direction (horizontally, vertically, or diagonally),
      * and can capture an opponent's piece as long as there are no pieces of the same color blocking its path.
      *
-     * @return an array of possible moves in chess notation
+     * @param board the position the queen stands in.
+     * @param moves the list the moves are appended to.
      */
     @Override
-    public List<String> possibleMoves(Piece[][] board) {
-        List<String> moves = new ArrayList<>();
-        int[] pos = Board.parsePosition(position);
-        int row = pos[0];
-        int col = pos[1];
-
-        // Directions: combine rook (straight) and bishop (diagonal) directions
-        int[][] directions = {
-                {-1, 0}, {1, 0}, {0, -1}, {0, 1},   // Straight directions (up, down, left, right)
-                {-1, -1}, {-1, 1}, {1, -1}, {1, 1}  // Diagonal directions (up-left, up-right, down-left, down-right)
-        };
-
-        // Iterate through each direction
-        for (int[] direction : directions) {
-            int newRow = row + direction[0];
-            int newCol = col + direction[1];
-
-            // Continue moving in the current direction until blocked
-            while (newRow >= 0 && newRow < 8 && newCol >= 0 && newCol < 8) {
-                Piece targetPiece = board[newRow][newCol];
+    public void possibleMoves(Position board, MoveList moves) {
+        generateMoves(board, Bitboards.parseSquare(position), moves);
+    }
 
-                if (targetPiece == null) {
-                    // Square is empty, add to possible moves
-                    moves.add(Board.convertToChessNotation(newRow, newCol));
-                } else {
-                    // Square is occupied, check if it's an opponent's piece
-                    if (!targetPiece.getColor().equals(this.color)) {
-                        moves.add(Board.convertToChessNotation(newRow, newCol));
-                    }
-                    // Stop exploring this direction after encountering any piece
-                    break;
-                }
+    /**
+     * Adds the moves of the queen on a square to a move list.
+     *
+     * @param board the position to generate moves in.
+     * @param from  the square of the queen.
+     * @param moves the list the moves are appended to.
+     */
+    public static void generateMoves(Position board, int from, MoveList moves) {
+        generateMoves(board, from, -1L, moves);
+    }
 
-                // Move further in the current direction
-                newRow += direction[0];
-                newCol += direction[1];
-            }
-        }
+    /**
+     * Adds the moves of the queen on a square to a move list, keeping only those that
+     * land on a square of the given mask.
+     *
+     * @param board the position to generate moves in.
+     * @param from  the square of the queen.
+     * @param mask  the squares the queen may move to, e.g. to block a check or stay on a pin line.
+     * @param moves the list the moves are appended to.
+     */
+    public static void generateMoves(Position board, int from, long mask, MoveList moves) {
+        int color = Position.colorOf(board.pieceAt(from));
 
-        return moves;
+        // Combine rook (straight) and bishop (diagonal) slides, excluding our own pieces
+        long targets = AttackTables.queen(from, board.occupied()) & ~board.occupancy(color) & mask;
+        addMoves(board, from, targets, moves);
     }
 
     /**
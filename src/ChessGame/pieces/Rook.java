@@ -1,8 +1,9 @@
 package ChessGame.pieces;
 
-import ChessGame.Board;
-import java.util.ArrayList;
-import java.util.List;
+import ChessGame.bitboard.AttackTables;
+import ChessGame.bitboard.Bitboards;
+import ChessGame.bitboard.Position;
+import ChessGame.moves.MoveList;
 
 /**
  * The Rook class represents a rook in the game of chess.
@@ -22,55 +23,44 @@ public class Rook extends Piece {
     }
 
     /**
-     * Returns an array of possible moves for the rook.
+     * Adds the possible moves for the rook to a move list.
      * Rooks can move any number of squares horizontally or vertically,
      * and can capture opponent pieces as long as there are no pieces of the same color blocking their path.
      *
-     * @return an array of possible moves in chess notation
+     * @param board the position the rook stands in.
+     * @param moves the list the moves are appended to.
      */
     @Override
-    public List<String> possibleMoves(Piece[][] board) {
-        List<String> moves = new ArrayList<>();
-        int[] pos = Board.parsePosition(position);
-        int row = pos[0];
-        int col = pos[1];
-
-        // Directions: up, down, left, right
-        int[][] directions = {
-                {-1, 0}, // Up
-                {1, 0},  // Down
-                {0, -1}, // Left
-                {0, 1}   // Right
-        };
-
-        // Iterate through each direction
-        for (int[] direction : directions) {
-            int newRow = row + direction[0];
-            int newCol = col + direction[1];
-
-            // Continue moving in the current direction until blocked
-            while (newRow >= 0 && newRow < 8 && newCol >= 0 && newCol < 8) {
-                Piece targetPiece = board[newRow][newCol];
+    public void possibleMoves(Position board, MoveList moves) {
+        generateMoves(board, Bitboards.parseSquare(position), moves);
+    }
 
-                if (targetPiece == null) {
-                    // Square is empty, add to possible moves
-                    moves.add(Board.convertToChessNotation(newRow, newCol));
-                } else {
-                    // Square is occupied, check if it's an opponent's piece
-                    if (!targetPiece.getColor().equals(this.color)) {
-                        moves.add(Board.convertToChessNotation(newRow, newCol));
-                    }
-                    // Stop exploring this direction after encountering any piece
-                    break;
-                }
+    /**
+     * Adds the moves of the rook on a square to a move list.
+     *
+     * @param board the position to generate moves in.
+     * @param from  the square of the rook.
+     * @param moves the list the moves are appended to.
+     */
+    public static void generateMoves(Position board, int from, MoveList moves) {
+        generateMoves(board, from, -1L, moves);
+    }
 
-                // Move further in the current direction
-                newRow += direction[0];
-                newCol += direction[1];
-            }
-        }
+    /**
+     * Adds the moves of the rook on a square to a move list, keeping only those that
+     * land on a square of the given mask.
+     *
+     * @param board the position to generate moves in.
+     * @param from  the square of the rook.
+     * @param mask  the squares the rook may move to, e.g. to block a check or stay on a pin line.
+     * @param moves the list the moves are appended to.
+     */
+    public static void generateMoves(Position board, int from, long mask, MoveList moves) {
+        int color = Position.colorOf(board.pieceAt(from));
 
-        return moves;
+        // Slide along each rank and file until blocked, excluding our own pieces
+        long targets = AttackTables.rook(from, board.occupied()) & ~board.occupancy(color) & mask;
+        addMoves(board, from, targets, moves);
     }
 
     /**
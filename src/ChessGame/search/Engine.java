@@ -0,0 +1,258 @@
+package ChessGame.search;
+
+import ChessGame.Board;
+import ChessGame.book.OpeningBook;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * The Engine class is the entry point for computer play and analysis. It owns a
+ * {@link TranspositionTable} and one {@link Searcher} per search thread, and runs
+ * searches on its own background threads so callers such as the GUI are never blocked.
+ *
+ * {@link #startSearch} copies the board, so the caller may keep changing its own board
+ * while the engine thinks, and returns at once with a {@link Future}. {@link #stop()}
+ * ends the running search early; it still delivers the best move found so far.
+ *
+ * With more than one thread the engine runs a Lazy SMP search: the main thread and the
+ * helper threads all search the same position on their own board copies and share the
+ * table. Only the main thread's result is played; the helpers make it faster by filling
+ * the table. The threads are created once with the engine and reused by every search.
+ * The node and time budget is enforced by the main thread, which stops the helpers when
+ * it finishes.
+ *
+ * With an {@link OpeningBook} set, a position found in the book is answered at once with
+ * the book move and no search at all.
+ */
+public class Engine {
+    private final TranspositionTable table;
+    private final Searcher[] searchers; // Index 0 is the main searcher
+    private final ExecutorService executor; // Runs the main searcher
+    private final ExecutorService helpers;  // Runs the helper searchers, or null with one thread
+    private final AtomicReference<AtomicBoolean> currentStop = new AtomicReference<>(new AtomicBoolean()); // Stop flag of the latest search
+    private volatile OpeningBook book; // Or null
+    private final MoveList bookMoves = new MoveList(); // Only used on the engine thread
+
+    /**
+     * Creates a single-threaded engine with a transposition table of the given size.
+     *
+     * @param hashMegabytes the table size in megabytes.
+     */
+    public Engine(int hashMegabytes) {
+        this(hashMegabytes, 1);
+    }
+
+    /**
+     * Creates an engine that searches with the given number of threads.
+     *
+     * @param hashMegabytes the table size in megabytes.
+     * @param threads       the number of search threads, at least 1.
+     * @throws IllegalArgumentException if the thread count is less than 1.
+     */
+    public Engine(int hashMegabytes, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1: " + threads);
+        }
+        this.table = new TranspositionTable(hashMegabytes, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED);
+        this.searchers = new Searcher[threads];
+        for (int i = 0; i < threads; i++) {
+            searchers[i] = new Searcher(table, i);
+        }
+        this.executor = Executors.newSingleThreadExecutor(daemonThreads("chess-engine"));
+        this.helpers = threads > 1 ? Executors.newFixedThreadPool(threads - 1, daemonThreads("chess-engine-helper-")) : null;
+    }
+
+    // Names the engine threads and lets the JVM exit while they are idle
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name.endsWith("-") ? name + count.incrementAndGet() : name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Starts searching a copy of the board in the background. A search that is still
+     * running is stopped first.
+     *
+     * @param board    the position to search; it is copied before this method returns.
+     * @param limits   the depth, node and time budget.
+     * @param onResult called on the engine thread with the final result, or null.
+     * @return a future that completes with the final result.
+     */
+    public Future<SearchResult> startSearch(Board board, SearchLimits limits, Consumer<SearchResult> onResult) {
+        return startSearch(board, limits, null, onResult);
+    }
+
+    /**
+     * Starts searching a copy of the board in the background, reporting each completed
+     * iteration. A search that is still running is stopped first.
+     *
+     * @param board    the position to search; it is copied before this method returns.
+     * @param limits   the depth, node and time budget.
+     * @param progress called on the engine thread after each iteration of the main searcher, or null.
+     * @param onResult called on the engine thread with the final result, or null.
+     * @return a future that completes with the final result.
+     */
+    public Future<SearchResult> startSearch(Board board, SearchLimits limits,
+                                            Consumer<SearchResult> progress, Consumer<SearchResult> onResult) {
+        Board copy = new Board(board);
+        AtomicBoolean stop = new AtomicBoolean();
+        currentStop.getAndSet(stop).set(true); // One swap, so a concurrent stop() always reaches the new search
+        return executor.submit(() -> {
+            SearchResult bookResult = probeBook(copy);
+            if (bookResult != null) {
+                if (onResult != null) {
+                    onResult.accept(bookResult);
+                }
+                return bookResult;
+            }
+            table.newSearch();
+
+            // Helpers search to the same depth without their own budget; the main thread stops them
+            List<Future<?>> running = new ArrayList<>();
+            SearchLimits helperLimits = SearchLimits.depth(limits.getMaxDepth());
+            for (int i = 1; i < searchers.length; i++) {
+                Searcher helper = searchers[i];
+                Board helperBoard = new Board(copy);
+                running.add(helpers.submit(() -> helper.search(helperBoard, helperLimits, stop, null)));
+            }
+
+            Consumer<SearchResult> report = progress == null ? null
+                    : iteration -> progress.accept(iteration.withNodes(totalNodes()));
+            SearchResult result = searchers[0].search(copy, limits, stop, report);
+            stop.set(true);
+            for (Future<?> helper : running) {
+                helper.get(); // Wait so the helper searchers are idle before the next search
+            }
+
+            result = result.withNodes(totalNodes());
+            if (onResult != null) {
+                onResult.accept(result);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Searches a position and waits for the result.
+     *
+     * @param board  the position to search; it is not changed.
+     * @param limits the depth, node and time budget.
+     * @return the final result.
+     * @throws IllegalStateException if the search fails or the calling thread is interrupted.
+     */
+    public SearchResult search(Board board, SearchLimits limits) {
+        return search(board, limits, null);
+    }
+
+    /**
+     * Searches a position and waits for the result, reporting each completed iteration.
+     *
+     * @param board    the position to search; it is not changed.
+     * @param limits   the depth, node and time budget.
+     * @param progress called after each iteration of the main searcher, or null.
+     * @return the final result.
+     * @throws IllegalStateException if the search fails or the calling thread is interrupted.
+     */
+    public SearchResult search(Board board, SearchLimits limits, Consumer<SearchResult> progress) {
+        try {
+            return startSearch(board, limits, progress, null).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            currentStop.get().set(true);
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
+    }
+
+    // The result for a book move, or null if the position is not in the book
+    private SearchResult probeBook(Board board) {
+        OpeningBook current = book;
+        if (current == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        int move = current.bestMove(board, bookMoves);
+        if (move == Move.NONE) {
+            return null;
+        }
+        return new SearchResult(move, 0, 0, 0, System.nanoTime() - start, new int[]{move}, new long[0]);
+    }
+
+    // Sums the nodes searched by all threads in the current or last search
+    private long totalNodes() {
+        long nodes = 0;
+        for (Searcher searcher : searchers) {
+            nodes += searcher.nodes();
+        }
+        return nodes;
+    }
+
+    /**
+     * Stops the running search, which then completes with its best move so far.
+     */
+    public void stop() {
+        currentStop.get().set(true);
+    }
+
+    /**
+     * Sets the opening book consulted before each search. It takes effect from the next search.
+     *
+     * @param book the book, or null to always search.
+     */
+    public void setOpeningBook(OpeningBook book) {
+        this.book = book;
+    }
+
+    /**
+     * Forgets everything learned in earlier searches, e.g. when a new game starts.
+     * Must not be called while a search is running.
+     */
+    public void newGame() {
+        table.clear();
+    }
+
+    /**
+     * Stops the running search and releases the engine threads.
+     */
+    public void shutdown() {
+        stop();
+        executor.shutdown();
+        if (helpers != null) {
+            helpers.shutdown();
+        }
+    }
+
+    /**
+     * Returns the number of search threads.
+     *
+     * @return the thread count.
+     */
+    public int threads() {
+        return searchers.length;
+    }
+
+    /**
+     * Returns the transposition table, e.g. to report its statistics.
+     *
+     * @return the table.
+     */
+    public TranspositionTable table() {
+        return table;
+    }
+}
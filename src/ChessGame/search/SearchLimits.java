@@ -0,0 +1,101 @@
+package ChessGame.search;
+
+/**
+ * The SearchLimits class holds the budget of one search: a maximum depth, a maximum
+ * node count and a maximum time. The search stops at whichever is reached first and
+ * returns the result of the last depth it completed.
+ */
+public final class SearchLimits {
+    /**
+     * The deepest iteration a search can run.
+     */
+    public static final int MAX_DEPTH = 64;
+
+    private final int maxDepth;
+    private final long maxNodes;
+    private final long maxTimeMillis;
+
+    /**
+     * Creates a search budget.
+     *
+     * @param maxDepth      the deepest iteration to search, 1 to {@link #MAX_DEPTH}.
+     * @param maxNodes      the node budget, or 0 for no limit.
+     * @param maxTimeMillis the time budget in milliseconds, or 0 for no limit.
+     * @throws IllegalArgumentException if a limit is out of range.
+     */
+    public SearchLimits(int maxDepth, long maxNodes, long maxTimeMillis) {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + MAX_DEPTH + ": " + maxDepth);
+        }
+        if (maxNodes < 0 || maxTimeMillis < 0) {
+            throw new IllegalArgumentException("Node and time limits must not be negative");
+        }
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.maxTimeMillis = maxTimeMillis;
+    }
+
+    /**
+     * Creates a budget that only limits the depth.
+     *
+     * @param depth the deepest iteration to search.
+     * @return the limits.
+     */
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+
+    /**
+     * Creates a budget that only limits the time.
+     *
+     * @param millis the time budget in milliseconds.
+     * @return the limits.
+     */
+    public static SearchLimits timeMillis(long millis) {
+        return new SearchLimits(MAX_DEPTH, 0, millis);
+    }
+
+    /**
+     * Creates a budget that only limits the node count.
+     *
+     * @param nodes the node budget.
+     * @return the limits.
+     */
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(MAX_DEPTH, nodes, 0);
+    }
+
+    /**
+     * Returns the deepest iteration to search.
+     *
+     * @return the maximum depth.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns the node budget.
+     *
+     * @return the maximum node count, or 0 for no limit.
+     */
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Returns the time budget.
+     *
+     * @return the maximum time in milliseconds, or 0 for no limit.
+     */
+    public long getMaxTimeMillis() {
+        return maxTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + maxDepth
+                + (maxNodes > 0 ? ", nodes " + maxNodes : "")
+                + (maxTimeMillis > 0 ? ", " + maxTimeMillis + " ms" : "");
+    }
+}
@@ -0,0 +1,158 @@
+package ChessGame.search;
+
+import ChessGame.moves.Move;
+
+/**
+ * The SearchResult class holds the outcome of a search, or of one completed iteration
+ * of it: the best move, its score, the principal variation, and the depth, node count
+ * and timing metrics used to judge the engine.
+ */
+public final class SearchResult {
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final int[] principalVariation;
+    private final long[] depthNanos;
+
+    /**
+     * Creates a search result.
+     *
+     * @param bestMove           the best move found, or {@link Move#NONE} if there is no legal move.
+     * @param score              the score in centipawns from the side to move's point of view.
+     * @param depth              the deepest completed iteration.
+     * @param nodes              the number of positions searched.
+     * @param elapsedNanos       the time spent searching.
+     * @param principalVariation the expected line of play, starting with the best move.
+     * @param depthNanos         the time at which each iteration completed, indexed by depth - 1.
+     */
+    public SearchResult(int bestMove, int score, int depth, long nodes, long elapsedNanos,
+                        int[] principalVariation, long[] depthNanos) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.principalVariation = principalVariation;
+        this.depthNanos = depthNanos;
+    }
+
+    /**
+     * Returns a copy of this result with another node count, e.g. the total of all
+     * threads of a parallel search.
+     *
+     * @param totalNodes the node count to report.
+     * @return the new result.
+     */
+    SearchResult withNodes(long totalNodes) {
+        return new SearchResult(bestMove, score, depth, totalNodes, elapsedNanos, principalVariation, depthNanos);
+    }
+
+    /**
+     * Returns the best move found.
+     *
+     * @return the encoded move, or {@link Move#NONE}.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Returns the score of the best move.
+     *
+     * @return the score in centipawns, or a value near {@link Searcher#MATE} for a forced mate.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the deepest completed iteration.
+     *
+     * @return the depth reached.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of positions searched, including quiescence nodes.
+     *
+     * @return the node count.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the time spent searching.
+     *
+     * @return the elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the search speed.
+     *
+     * @return the nodes searched per second.
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Returns the time it took to complete an iteration, counted from the start of the search.
+     *
+     * @param depth the iteration depth, 1 to {@link #getDepth()}.
+     * @return the time to depth in nanoseconds.
+     */
+    public long getTimeToDepthNanos(int depth) {
+        return depthNanos[depth - 1];
+    }
+
+    /**
+     * Returns the expected line of play.
+     *
+     * @return a copy of the principal variation, starting with the best move.
+     */
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    /**
+     * Checks whether the score is a forced mate for either side.
+     *
+     * @return true if the score is a mate score; false otherwise.
+     */
+    public boolean isMateScore() {
+        return Math.abs(score) > Searcher.MATE - Searcher.MAX_PLY;
+    }
+
+    /**
+     * Returns a one-line summary in the style of a UCI info line.
+     *
+     * @return the summary.
+     */
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder();
+        line.append("depth ").append(depth);
+        if (isMateScore()) {
+            int plies = Searcher.MATE - Math.abs(score);
+            line.append(" score mate ").append(score > 0 ? (plies + 1) / 2 : -(plies + 1) / 2);
+        } else {
+            line.append(" score cp ").append(score);
+        }
+        line.append(" nodes ").append(nodes)
+                .append(" nps ").append(getNodesPerSecond())
+                .append(" time ").append(elapsedNanos / 1_000_000)
+                .append(" pv");
+        for (int move : principalVariation) {
+            line.append(' ').append(Move.toString(move));
+        }
+        return line.toString();
+    }
+}
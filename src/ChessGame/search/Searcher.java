@@ -0,0 +1,458 @@
+package ChessGame.search;
+
+import ChessGame.Board;
+import ChessGame.bitboard.Position;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * The Searcher class finds the best move in a position with a negamax alpha-beta search.
+ *
+ * The search deepens iteratively, one ply at a time, until the depth, node or time
+ * budget in {@link SearchLimits} runs out, and then returns the last completed iteration.
+ * At the horizon a quiescence search resolves pending captures and promotions so the
+ * evaluation is not taken in the middle of an exchange. Moves are tried in this order:
+ * the move stored in the {@link TranspositionTable}, captures by most valuable victim and
+ * least valuable attacker (MVV-LVA), the two killer moves of the ply, and the other quiet
+ * moves by their history score.
+ *
+ * A position that repeats one already reached with the same side to move, on the search
+ * path or in the game before the root, is scored as a draw. The game positions come from
+ * the board's undo stack, back to the last capture or pawn move.
+ *
+ * A Searcher keeps its move lists, killers and history between searches so that
+ * searching allocates next to nothing; it is not thread-safe, but several searchers can
+ * share one table. That is how {@link Engine} searches on several cores (Lazy SMP): each
+ * thread runs its own searcher on its own board copy, and the threads speed each other
+ * up through the results they leave in the shared table. Helper searchers with an odd
+ * thread index start one ply deeper, so the threads do not all walk the same tree.
+ */
+public final class Searcher {
+    /**
+     * The score of delivering mate at the root; a mate in n plies scores MATE - n.
+     */
+    public static final int MATE = 30000;
+
+    /**
+     * The deepest ply, including quiescence plies, the search will reach.
+     */
+    public static final int MAX_PLY = 128;
+
+    private static final int INFINITY = 32000;
+    private static final int CHECK_INTERVAL = 1023; // Check the budget every 1024 nodes
+
+    // Centipawn piece values for ordering captures, indexed by piece type
+    private static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+
+    // Move ordering scores; a move's score decides which it is tried first
+    private static final int TABLE_MOVE_SCORE = 1_000_000;
+    private static final int CAPTURE_SCORE = 500_000;
+    private static final int FIRST_KILLER_SCORE = 400_000;
+    private static final int SECOND_KILLER_SCORE = 390_000;
+    private static final int HISTORY_LIMIT = 300_000;
+
+    private final TranspositionTable table;
+    private final int threadIndex; // 0 for the main searcher, 1 and up for helpers
+    private final MoveList[] moveLists = new MoveList[MAX_PLY];
+    private final int[][] moveScores = new int[MAX_PLY][MoveList.CAPACITY];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[] history = new int[2 * 64 * 64];   // Indexed by color, from and to square
+    private final long[] pathHashes = new long[MAX_PLY];  // Hash of the position at each ply
+    private long[] gameHashes = new long[MAX_PLY];        // Hashes of the game positions before the root, most recent first
+    private int gameHashCount;                            // Game positions that can still repeat
+    private final long[] depthNanos = new long[SearchLimits.MAX_DEPTH];
+
+    private Board board;
+    private AtomicBoolean stopped;
+    private long nodes;
+    private volatile long publishedNodes; // Node count other threads may read, refreshed every 1024 nodes and each iteration
+    private long maxNodes;
+    private long deadline;
+    private int rootBestMove;
+
+    /**
+     * Creates a searcher that stores its results in a transposition table.
+     *
+     * @param table the table, which may be shared with other searchers.
+     */
+    public Searcher(TranspositionTable table) {
+        this(table, 0);
+    }
+
+    /**
+     * Creates a searcher for one thread of a parallel search.
+     *
+     * @param table       the table shared by all threads.
+     * @param threadIndex 0 for the main thread, whose result is played; 1 and up for helpers.
+     */
+    public Searcher(TranspositionTable table, int threadIndex) {
+        this.table = table;
+        this.threadIndex = threadIndex;
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            moveLists[ply] = new MoveList();
+        }
+    }
+
+    /**
+     * Searches a position until the budget runs out or the stop flag is raised.
+     * The board is searched in place and is back in its original position afterwards.
+     *
+     * @param board    the position to search; the moves on its undo stack are the game
+     *                 history used for repetitions.
+     * @param limits   the depth, node and time budget.
+     * @param stop     a flag another thread can raise to end the search early.
+     * @param progress called with the result of each completed iteration, or null.
+     * @return the result of the last completed iteration.
+     */
+    public SearchResult search(Board board, SearchLimits limits, AtomicBoolean stop,
+                               Consumer<SearchResult> progress) {
+        long start = System.nanoTime();
+        this.board = board;
+        this.stopped = stop;
+        this.nodes = 0;
+        this.publishedNodes = 0;
+        this.maxNodes = limits.getMaxNodes() > 0 ? limits.getMaxNodes() : Long.MAX_VALUE;
+        this.deadline = limits.getMaxTimeMillis() > 0
+                ? start + limits.getMaxTimeMillis() * 1_000_000L : Long.MAX_VALUE;
+        for (int[] plyKillers : killers) {
+            plyKillers[0] = Move.NONE;
+            plyKillers[1] = Move.NONE;
+        }
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 2; // Keep some ordering knowledge from the previous search
+        }
+        seedGameHashes(board);
+
+        SearchResult result = null;
+        int firstDepth = Math.min(1 + (threadIndex & 1), limits.getMaxDepth());
+        for (int depth = firstDepth; depth <= limits.getMaxDepth(); depth++) {
+            rootBestMove = Move.NONE;
+            int score = search(depth, 0, -INFINITY, INFINITY);
+            if (stopped.get() && result != null) {
+                break; // The unfinished iteration is not trusted
+            }
+            depthNanos[depth - 1] = System.nanoTime() - start;
+            publishedNodes = nodes; // Exact at each iteration, so progress reports on shallow depths are not stale
+            result = new SearchResult(rootBestMove, score, depth, nodes, depthNanos[depth - 1],
+                    principalVariation(depth), Arrays.copyOf(depthNanos, depth));
+            if (progress != null) {
+                progress.accept(result);
+            }
+            if (stopped.get() || rootBestMove == Move.NONE
+                    || (result.isMateScore() && MATE - Math.abs(score) <= depth)) {
+                break; // Out of budget, no legal move, or a mate that deeper search cannot improve
+            }
+        }
+        this.board = null;
+        publishedNodes = nodes;
+        return result;
+    }
+
+    /**
+     * Returns the number of positions searched so far in the current or last search.
+     * Other threads may call this while the search runs; the count is exact at the end of
+     * each iteration and otherwise lags by up to a thousand nodes.
+     *
+     * @return the node count.
+     */
+    public long nodes() {
+        return publishedNodes;
+    }
+
+    /**
+     * Forgets the history scores kept from earlier searches, so the next search orders
+     * moves as a new searcher would.
+     */
+    public void clearHistory() {
+        Arrays.fill(history, 0);
+    }
+
+    // Negamax alpha-beta search to a fixed depth, followed by a quiescence search
+    private int search(int depth, int ply, int alpha, int beta) {
+        if ((++nodes & CHECK_INTERVAL) == 0) {
+            checkLimits();
+        }
+        if (stopped.get()) {
+            return 0;
+        }
+        long hash = board.hash();
+        if (ply > 0 && isRepetition(hash, ply)) {
+            return 0;
+        }
+        boolean inCheck = board.isInCheck();
+        if (inCheck) {
+            depth++; // Look one ply deeper when in check, so short mates are not missed
+        }
+        if (depth <= 0) {
+            return quiesce(ply, alpha, beta);
+        }
+        if (ply >= MAX_PLY - 1) {
+            return evaluate();
+        }
+
+        int tableMove = Move.NONE;
+        long entry = table.probe(hash);
+        if (entry != TranspositionTable.NO_ENTRY) {
+            tableMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                        || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        board.generateLegalMoves(moves);
+        if (moves.isEmpty()) {
+            return inCheck ? -MATE + ply : 0; // Checkmate or stalemate
+        }
+        scoreMoves(moves, ply, tableMove);
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = Move.NONE;
+        pathHashes[ply] = hash;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = nextMove(moves, ply, i);
+            if (ply == 0 && rootBestMove == Move.NONE) {
+                rootBestMove = move; // Something to play even if the first iteration is cut short
+            }
+            board.makeMove(move);
+            int score = -search(depth - 1, ply + 1, -beta, -alpha);
+            board.unmakeMove();
+            if (stopped.get()) {
+                return 0;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        if (!Move.isCapture(move)) {
+                            rememberQuietCutoff(move, ply, depth);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = bestScore >= beta ? TranspositionTable.LOWER_BOUND
+                : bestScore > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+        table.store(hash, bestMove, toTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    // Searches captures and promotions only, until the position is quiet
+    private int quiesce(int ply, int alpha, int beta) {
+        if ((++nodes & CHECK_INTERVAL) == 0) {
+            checkLimits();
+        }
+        if (stopped.get()) {
+            return 0;
+        }
+        if (ply >= MAX_PLY - 1) {
+            return evaluate();
+        }
+
+        // When in check every evasion is searched; otherwise the side to move may stand pat
+        boolean inCheck = board.isInCheck();
+        int bestScore = -INFINITY;
+        if (!inCheck) {
+            bestScore = evaluate();
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            if (bestScore > alpha) {
+                alpha = bestScore;
+            }
+        }
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        board.generateLegalMoves(moves);
+        if (moves.isEmpty()) {
+            return inCheck ? -MATE + ply : bestScore;
+        }
+        scoreMoves(moves, ply, Move.NONE);
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = nextMove(moves, ply, i);
+            if (!inCheck && !Move.isCapture(move) && !Move.isPromotion(move)) {
+                continue;
+            }
+            board.makeMove(move);
+            int score = -quiesce(ply + 1, -beta, -alpha);
+            board.unmakeMove();
+            if (stopped.get()) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    // Static evaluation from the side to move's point of view
+    private int evaluate() {
+        return board.evaluate();
+    }
+
+    // Gives each move an ordering score; nextMove then picks them best first
+    private void scoreMoves(MoveList moves, int ply, int tableMove) {
+        int[] scores = moveScores[ply];
+        int colorOffset = board.sideToMove() * 64 * 64;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int score;
+            if (move == tableMove) {
+                score = TABLE_MOVE_SCORE;
+            } else if (Move.isCapture(move)) {
+                int victim = Move.flags(move) == Move.EN_PASSANT
+                        ? Position.PAWN : Position.typeOf(board.pieceAt(Move.to(move)));
+                int attacker = Position.typeOf(board.pieceAt(Move.from(move)));
+                score = CAPTURE_SCORE + PIECE_VALUES[victim] * 10 - attacker;
+            } else if (Move.isPromotion(move)) {
+                score = CAPTURE_SCORE + PIECE_VALUES[Move.promotionType(move)];
+            } else if (move == killers[ply][0]) {
+                score = FIRST_KILLER_SCORE;
+            } else if (move == killers[ply][1]) {
+                score = SECOND_KILLER_SCORE;
+            } else {
+                score = history[colorOffset + Move.from(move) * 64 + Move.to(move)];
+            }
+            scores[i] = score;
+        }
+    }
+
+    // Selection sort step: swaps the best remaining move into position i and returns it
+    private int nextMove(MoveList moves, int ply, int i) {
+        int[] scores = moveScores[ply];
+        int best = i;
+        for (int j = i + 1; j < moves.size(); j++) {
+            if (scores[j] > scores[best]) {
+                best = j;
+            }
+        }
+        if (best != i) {
+            int move = moves.get(best);
+            moves.set(best, moves.get(i));
+            moves.set(i, move);
+            int score = scores[best];
+            scores[best] = scores[i];
+            scores[i] = score;
+        }
+        return moves.get(i);
+    }
+
+    // Records a quiet move that caused a beta cutoff as a killer and in the history table
+    private void rememberQuietCutoff(int move, int ply, int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int index = board.sideToMove() * 64 * 64 + Move.from(move) * 64 + Move.to(move);
+        history[index] += depth * depth;
+        if (history[index] > HISTORY_LIMIT) {
+            for (int i = 0; i < history.length; i++) {
+                history[i] >>= 1;
+            }
+        }
+    }
+
+    // Copies the hashes of the game positions played before the root from the board's undo
+    // stack; only those since the last capture or pawn move can repeat
+    private void seedGameHashes(Board board) {
+        gameHashCount = Math.min(board.historyLength(), board.halfmoveClock());
+        if (gameHashCount > gameHashes.length) {
+            gameHashes = new long[Math.max(gameHashCount, 2 * gameHashes.length)];
+        }
+        for (int i = 0; i < gameHashCount; i++) {
+            gameHashes[i] = board.hashMovesAgo(i + 1);
+        }
+    }
+
+    // Checks whether the position already occurred with the same side to move, on the
+    // current search path or earlier in the game; ply -1 is the game position before the root
+    private boolean isRepetition(long hash, int ply) {
+        for (int earlier = ply - 2; earlier >= -gameHashCount; earlier -= 2) {
+            if ((earlier >= 0 ? pathHashes[earlier] : gameHashes[-earlier - 1]) == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Raises the stop flag once the node or time budget is used up
+    private void checkLimits() {
+        publishedNodes = nodes;
+        if (nodes >= maxNodes || System.nanoTime() >= deadline) {
+            stopped.set(true);
+        }
+    }
+
+    // Follows the best moves stored in the table from the root, checking each is legal
+    private int[] principalVariation(int depth) {
+        int[] line = new int[depth];
+        int length = 0;
+        int move = rootBestMove;
+        while (move != Move.NONE && length < depth) {
+            MoveList moves = moveLists[length];
+            moves.clear();
+            board.generateLegalMoves(moves);
+            if (!moves.contains(move)) {
+                break;
+            }
+            line[length++] = move;
+            board.makeMove(move);
+            long entry = table.probe(board.hash());
+            move = entry == TranspositionTable.NO_ENTRY ? Move.NONE : TranspositionTable.move(entry);
+        }
+        for (int i = 0; i < length; i++) {
+            board.unmakeMove();
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    // Mate scores are stored relative to the node, not the root, so they stay valid at any ply
+    private static int toTable(int score, int ply) {
+        if (score > MATE - MAX_PLY) {
+            return score + ply;
+        }
+        if (score < -MATE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score > MATE - MAX_PLY) {
+            return score - ply;
+        }
+        if (score < -MATE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,305 @@
+package ChessGame.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The TranspositionTable class caches search results by 64-bit position hash
+ * (see {@link ChessGame.Board#hash()}), so a position reached again by another move
+ * order, another iteration or another thread is not searched twice.
+ *
+ * The table is one preallocated long[] with two longs per slot: the entry data (best
+ * move, score, depth, bound type and search generation) and the position hash XORed
+ * with that data. Threads read and write slots without locks. If two threads write the
+ * same slot at once, a reader can see the hash of one entry with the data of the other;
+ * the XOR check then fails and the slot reads as a miss instead of returning the wrong
+ * result.
+ *
+ * {@link #probe(long)} returns the entry data as a single long, or {@link #NO_ENTRY};
+ * {@link #move(long)}, {@link #score(long)}, {@link #depth(long)} and {@link #bound(long)}
+ * unpack it without allocating.
+ */
+public final class TranspositionTable {
+    /**
+     * The stored score is exact.
+     */
+    public static final int EXACT = 1;
+
+    /**
+     * The stored score is a lower bound; the search failed high.
+     */
+    public static final int LOWER_BOUND = 2;
+
+    /**
+     * The stored score is an upper bound; the search failed low.
+     */
+    public static final int UPPER_BOUND = 3;
+
+    /**
+     * Returned by {@link #probe(long)} when the table holds nothing for a hash. Real
+     * entries are never 0 because their bound type is never 0.
+     */
+    public static final long NO_ENTRY = 0L;
+
+    /**
+     * Decides whether a new entry overwrites the entry already in its slot.
+     */
+    public enum ReplacementPolicy {
+        /**
+         * Keep the deeper result, unless the slot holds the same position or an entry
+         * from an earlier search.
+         */
+        DEPTH_PREFERRED,
+
+        /**
+         * Always overwrite the slot with the newest result.
+         */
+        ALWAYS_REPLACE
+    }
+
+    // Entry data layout
+    private static final int MOVE_BITS = 20;
+    private static final int SCORE_SHIFT = 20;      // 16-bit signed score
+    private static final int DEPTH_SHIFT = 36;      // 8-bit depth
+    private static final int BOUND_SHIFT = 44;      // 2-bit bound type
+    private static final int GENERATION_SHIFT = 46; // 8-bit search generation
+
+    private static final int ENTRY_BYTES = 16;
+    private static final long MAX_ENTRIES = 1L << 29; // 2^30 longs, 8 GB; 2^31 would overflow the array length
+
+    private final long[] slots; // Pairs of (hash ^ data, data)
+    private final int mask;     // Entry count - 1, entry count is a power of two
+    private final ReplacementPolicy policy;
+    private volatile int generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+    /**
+     * Creates a table that uses at most the given amount of memory. The entry count is
+     * rounded down to a power of two. A single table holds at most 2^29 entries (8 GB), so
+     * larger sizes get the largest table that fits; {@link #sizeBytes()} reports the size
+     * actually allocated.
+     *
+     * @param megabytes the table size in megabytes.
+     * @param policy    the replacement policy.
+     * @throws IllegalArgumentException if the size is less than 1 MB.
+     */
+    public TranspositionTable(int megabytes, ReplacementPolicy policy) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Table size must be at least 1 MB: " + megabytes);
+        }
+        long entries = Long.highestOneBit(Math.min(megabytes * 1024L * 1024L / ENTRY_BYTES, MAX_ENTRIES));
+        this.slots = new long[(int) (entries * 2)];
+        this.mask = (int) (entries - 1);
+        this.policy = policy;
+    }
+
+    /**
+     * Looks up the entry for a position hash.
+     *
+     * @param hash the position hash.
+     * @return the packed entry data, or {@link #NO_ENTRY} if the table has no entry for the hash.
+     */
+    public long probe(long hash) {
+        int index = ((int) hash & mask) << 1;
+        long check = slots[index];
+        long data = slots[index + 1];
+        if (data != NO_ENTRY && (check ^ data) == hash) {
+            hits.increment();
+            return data;
+        }
+        misses.increment();
+        if (data != NO_ENTRY) {
+            collisions.increment(); // The slot holds another position, or a torn write
+        }
+        return NO_ENTRY;
+    }
+
+    /**
+     * Stores a search result for a position hash, subject to the replacement policy.
+     *
+     * @param hash  the position hash.
+     * @param move  the best move found, or {@link ChessGame.moves.Move#NONE}.
+     * @param score the score, which must fit in 16 signed bits.
+     * @param depth the remaining depth the score was searched to; clamped to 0..255.
+     * @param bound {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}.
+     */
+    public void store(long hash, int move, int score, int depth, int bound) {
+        int index = ((int) hash & mask) << 1;
+        long oldData = slots[index + 1];
+        if (policy == ReplacementPolicy.DEPTH_PREFERRED && oldData != NO_ENTRY) {
+            boolean samePosition = (slots[index] ^ oldData) == hash;
+            boolean current = generation(oldData) == (generation & 0xFF);
+            if (!samePosition && current && depth(oldData) > depth) {
+                return;
+            }
+            if (samePosition && move == 0) {
+                move = move(oldData); // Keep the known best move when a bound carries none
+            }
+        }
+        long data = (move & ((1L << MOVE_BITS) - 1))
+                | ((score & 0xFFFFL) << SCORE_SHIFT)
+                | ((long) Math.max(0, Math.min(depth, 255)) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) (generation & 0xFF) << GENERATION_SHIFT);
+        slots[index] = hash ^ data;
+        slots[index + 1] = data;
+    }
+
+    /**
+     * Starts a new search generation, so the depth-preferred policy lets new results
+     * replace entries left over from earlier searches.
+     */
+    public void newSearch() {
+        generation++;
+    }
+
+    /**
+     * Empties the table and resets the statistics.
+     */
+    public void clear() {
+        Arrays.fill(slots, 0L);
+        generation = 0;
+        resetStatistics();
+    }
+
+    /**
+     * Resets the hit, miss and collision counters.
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+    }
+
+    /**
+     * Returns the best move of an entry.
+     *
+     * @param entry the packed entry data.
+     * @return the encoded move, or {@link ChessGame.moves.Move#NONE}.
+     */
+    public static int move(long entry) {
+        return (int) (entry & ((1L << MOVE_BITS) - 1));
+    }
+
+    /**
+     * Returns the score of an entry.
+     *
+     * @param entry the packed entry data.
+     * @return the score.
+     */
+    public static int score(long entry) {
+        return (short) (entry >>> SCORE_SHIFT);
+    }
+
+    /**
+     * Returns the depth of an entry.
+     *
+     * @param entry the packed entry data.
+     * @return the remaining depth the score was searched to.
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Returns the bound type of an entry.
+     *
+     * @param entry the packed entry data.
+     * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}.
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    // Returns the search generation an entry was stored in
+    private static int generation(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Returns the number of entries the table can hold.
+     *
+     * @return the entry count.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the memory used by the entries.
+     *
+     * @return the size in bytes.
+     */
+    public long sizeBytes() {
+        return (long) slots.length * Long.BYTES;
+    }
+
+    /**
+     * Returns the replacement policy.
+     *
+     * @return the policy.
+     */
+    public ReplacementPolicy policy() {
+        return policy;
+    }
+
+    /**
+     * Returns how many probes found an entry.
+     *
+     * @return the hit count.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how many probes found no entry.
+     *
+     * @return the miss count, including collisions.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns how many probes found the slot holding another position.
+     *
+     * @return the collision count.
+     */
+    public long collisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * Estimates how full the table is by sampling its first thousand slots.
+     *
+     * @return the number of used slots per thousand.
+     */
+    public int usagePermill() {
+        int sample = Math.min(1000, capacity());
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            if (slots[i * 2 + 1] != NO_ENTRY) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    /**
+     * Returns a one-line summary of the table size and statistics.
+     *
+     * @return the summary.
+     */
+    @Override
+    public String toString() {
+        long hitCount = hits();
+        long probes = hitCount + misses();
+        return String.format("TranspositionTable: %d MB, %d entries, %s, %d probes, %.1f%% hits, %d collisions, %d%% full",
+                sizeBytes() / (1024 * 1024), capacity(), policy, probes,
+                probes == 0 ? 0.0 : hitCount * 100.0 / probes, collisions(), usagePermill() / 10);
+    }
+}
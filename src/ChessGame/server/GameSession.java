@@ -0,0 +1,193 @@
+package ChessGame.server;
+
+import ChessGame.Board;
+import ChessGame.bitboard.PackedPosition;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
+import ChessGame.notation.Fen;
+
+import java.util.Arrays;
+
+/**
+ * The GameSession class is one game hosted by a {@link SessionManager}: the current
+ * position, the moves played so far and the game status.
+ *
+ * Between commands the game is parked in a {@link PackedPosition} of 48 bytes, so a
+ * session costs a few hundred bytes however many moves have been played. To run a
+ * command the shard that owns the session loads the position into its working
+ * {@link Board}, plays or checks the move there and packs the result again. Taking a
+ * move back replays the game from its starting position, which is only stored when the
+ * game did not start from the standard position.
+ *
+ * A session is only ever touched by the shard thread that owns it, so it needs no
+ * locking; the board and move list it works with belong to that shard and are shared by
+ * all of the shard's sessions.
+ */
+public final class GameSession {
+    /**
+     * The status of a game.
+     */
+    public enum Status {
+        ONGOING, CHECKMATE, STALEMATE
+    }
+
+    private static final PackedPosition STANDARD_START = packedStart();
+
+    private final String id;
+    private final PackedPosition position = new PackedPosition(); // Position after the last move
+    private final PackedPosition start; // Starting position, or null for the standard one
+    private int[] moves;                // Moves played, allocated with the first move
+    private int moveCount;
+    private Status status = Status.ONGOING;
+
+    /**
+     * Creates a session starting from a position.
+     *
+     * @param id     the game id.
+     * @param fen    the starting position in Forsyth-Edwards Notation.
+     * @param work   the working board owned by the calling shard.
+     * @param buffer a scratch move list owned by the calling shard.
+     * @throws IllegalArgumentException if the FEN string is malformed or describes an
+     *                                  impossible position.
+     */
+    GameSession(String id, String fen, Board work, MoveList buffer) {
+        this.id = id;
+        work.loadFen(fen);
+        work.pack(position);
+        this.start = position.equals(STANDARD_START) ? null : new PackedPosition();
+        if (start != null) {
+            work.pack(start);
+        }
+        updateStatus(work, buffer);
+    }
+
+    // The standard starting position, shared by all sessions that start from it
+    private static PackedPosition packedStart() {
+        PackedPosition packed = new PackedPosition();
+        new Board(Fen.START_POSITION).pack(packed);
+        return packed;
+    }
+
+    /**
+     * Plays a move given in coordinate notation if it is legal.
+     *
+     * @param notation the move (e.g., "e2e4" or "e7e8q").
+     * @param work     the working board owned by the calling shard.
+     * @param buffer   a scratch move list owned by the calling shard.
+     * @return the encoded move played, or {@link Move#NONE} if it is not legal.
+     */
+    int play(String notation, Board work, MoveList buffer) {
+        if (status != Status.ONGOING) {
+            return Move.NONE;
+        }
+        work.load(position);
+        buffer.clear();
+        work.generateLegalMoves(buffer);
+        for (int i = 0; i < buffer.size(); i++) {
+            int move = buffer.get(i);
+            if (Move.matches(move, notation)) {
+                work.makeMove(move);
+                work.pack(position);
+                if (moves == null) {
+                    moves = new int[16];
+                } else if (moveCount == moves.length) {
+                    moves = Arrays.copyOf(moves, moveCount * 2);
+                }
+                moves[moveCount++] = move;
+                updateStatus(work, buffer);
+                return move;
+            }
+        }
+        return Move.NONE;
+    }
+
+    /**
+     * Takes back the last move.
+     *
+     * @param work   the working board owned by the calling shard.
+     * @param buffer a scratch move list owned by the calling shard.
+     * @return true if a move was taken back; false if no move has been played.
+     */
+    boolean undo(Board work, MoveList buffer) {
+        if (moveCount == 0) {
+            return false;
+        }
+        moveCount--;
+        work.load(start != null ? start : STANDARD_START);
+        for (int i = 0; i < moveCount; i++) {
+            work.makeMove(moves[i]);
+        }
+        work.pack(position);
+        updateStatus(work, buffer);
+        return true;
+    }
+
+    /**
+     * Adds the legal moves of the current position to a move list.
+     *
+     * @param work  the working board owned by the calling shard.
+     * @param moves the list the moves are appended to.
+     */
+    void generateLegalMoves(Board work, MoveList moves) {
+        work.load(position);
+        work.generateLegalMoves(moves);
+    }
+
+    /**
+     * Writes the current position in Forsyth-Edwards Notation.
+     *
+     * @param work the working board owned by the calling shard.
+     * @return the FEN string.
+     */
+    String toFen(Board work) {
+        work.load(position);
+        return work.toFen();
+    }
+
+    // Recomputes the status from the position on the working board
+    private void updateStatus(Board work, MoveList buffer) {
+        buffer.clear();
+        work.generateLegalMoves(buffer);
+        if (!buffer.isEmpty()) {
+            status = Status.ONGOING;
+        } else {
+            status = work.isInCheck() ? Status.CHECKMATE : Status.STALEMATE;
+        }
+    }
+
+    /**
+     * Returns the game id.
+     *
+     * @return the id.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the current position. Only the owning shard thread may read it.
+     *
+     * @return the packed position.
+     */
+    PackedPosition getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the number of moves played in this session.
+     *
+     * @return the number of plies.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Returns the status of the game.
+     *
+     * @return the status.
+     */
+    public Status getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,214 @@
+package ChessGame.server;
+
+import ChessGame.Board;
+import ChessGame.bitboard.PackedPosition;
+import ChessGame.bitboard.Position;
+import ChessGame.moves.Move;
+import ChessGame.moves.MoveList;
+import ChessGame.notation.Fen;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The SessionManager class hosts many independent games without a GUI, each a
+ * {@link GameSession} keyed by a game id, and runs commands against them.
+ *
+ * Sessions are spread over a fixed number of shards by the hash of their id. Each shard
+ * is a single thread that owns its sessions in a plain map, so commands for one game run
+ * in the order they were submitted and never contend with commands for games on other
+ * shards. Nothing per game needs a thread of its own, and each shard has one working
+ * {@link Board} that its sessions are loaded into while a command runs, so a game only
+ * keeps its packed position between commands. That keeps tens of thousands of games
+ * cheap to host.
+ *
+ * Commands are text lines, answered with a line starting with "ok" or "error:":
+ * <pre>
+ * new [FEN]     starts the game, from the standard position unless a FEN is given
+ * move UCI      plays a move in coordinate notation, e.g. "move e2e4" or "move e7e8q"
+ * undo          takes back the last move
+ * moves         lists the legal moves
+ * status        reports the side to move, the number of moves played and the game status
+ * board         prints the board, rank 8 first
+ * fen           prints the position in Forsyth-Edwards Notation
+ * close         ends the game and frees its session
+ * </pre>
+ */
+public final class SessionManager implements AutoCloseable {
+    private final Shard[] shards;
+    private final AtomicInteger sessionCount = new AtomicInteger();
+
+    // One thread and the sessions it owns; the map, board and buffer are only touched by that thread
+    private static final class Shard {
+        private final ExecutorService executor;
+        private final Map<String, GameSession> sessions = new HashMap<>();
+        private final Board board = new Board(Fen.START_POSITION); // Working board the sessions are loaded into
+        private final MoveList buffer = new MoveList();
+
+        private Shard(int index) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "chess-session-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Creates a session manager.
+     *
+     * @param shardCount the number of shard threads, usually the number of cores.
+     * @throws IllegalArgumentException if the shard count is not positive.
+     */
+    public SessionManager(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+    }
+
+    /**
+     * Runs a command against a game on the game's shard thread.
+     *
+     * @param gameId  the game id.
+     * @param command the command line (see the class description).
+     * @return a future completed with the response line.
+     */
+    public CompletableFuture<String> execute(String gameId, String command) {
+        Shard shard = shards[(gameId.hashCode() & 0x7FFFFFFF) % shards.length];
+        return CompletableFuture.supplyAsync(() -> run(shard, gameId, command.trim()), shard.executor);
+    }
+
+    /**
+     * Returns the number of open sessions.
+     *
+     * @return the number of sessions.
+     */
+    public int sessionCount() {
+        return sessionCount.get();
+    }
+
+    /**
+     * Returns the number of shard threads.
+     *
+     * @return the number of shards.
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Stops all shard threads after the commands already submitted have run.
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.executor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Runs on the shard thread
+    private String run(Shard shard, String gameId, String command) {
+        int space = command.indexOf(' ');
+        String verb = space < 0 ? command : command.substring(0, space);
+        String argument = space < 0 ? "" : command.substring(space + 1).trim();
+
+        if (verb.equals("new")) {
+            return newGame(shard, gameId, argument.isEmpty() ? Fen.START_POSITION : argument);
+        }
+        GameSession session = shard.sessions.get(gameId);
+        if (session == null) {
+            return "error: no game " + gameId;
+        }
+        switch (verb) {
+            case "move":
+                int move = session.play(argument, shard.board, shard.buffer);
+                if (move == Move.NONE) {
+                    return "error: illegal move " + argument;
+                }
+                return "ok " + Move.toString(move) + " " + describe(session);
+            case "undo":
+                return session.undo(shard.board, shard.buffer) ? "ok " + describe(session) : "error: no move to undo";
+            case "moves":
+                return "ok " + legalMoves(session, shard);
+            case "status":
+                return "ok " + describe(session);
+            case "board":
+                return "ok " + diagram(session.getPosition());
+            case "fen":
+                return "ok " + session.toFen(shard.board);
+            case "close":
+                shard.sessions.remove(gameId);
+                sessionCount.decrementAndGet();
+                return "ok closed";
+            default:
+                return "error: unknown command " + verb;
+        }
+    }
+
+    // Starts or restarts a game on the shard
+    private String newGame(Shard shard, String gameId, String fen) {
+        GameSession session;
+        try {
+            session = new GameSession(gameId, fen, shard.board, shard.buffer);
+        } catch (IllegalArgumentException e) {
+            return "error: " + e.getMessage();
+        }
+        if (shard.sessions.put(gameId, session) == null) {
+            sessionCount.incrementAndGet();
+        }
+        return "ok " + describe(session);
+    }
+
+    // Side to move, moves played and status, e.g. "white 0 ongoing"
+    private static String describe(GameSession session) {
+        String side = session.getPosition().sideToMove() == Position.WHITE ? "white" : "black";
+        return side + " " + session.getMoveCount() + " " + session.getStatus().name().toLowerCase();
+    }
+
+    // The legal moves in coordinate notation, separated by spaces
+    private static String legalMoves(GameSession session, Shard shard) {
+        MoveList buffer = shard.buffer;
+        buffer.clear();
+        session.generateLegalMoves(shard.board, buffer);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < buffer.size(); i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(Move.toString(buffer.get(i)));
+        }
+        return text.toString();
+    }
+
+    // The board as eight ranks of FEN-style piece letters separated by '/', with '.' for empty squares
+    private static String diagram(PackedPosition position) {
+        StringBuilder text = new StringBuilder(71);
+        for (int rank = 7; rank >= 0; rank--) {
+            for (int file = 0; file < 8; file++) {
+                int piece = position.pieceAt(rank * 8 + file);
+                text.append(piece < 0 ? '.' : "PNBRQKpnbrqk".charAt(piece));
+            }
+            if (rank > 0) {
+                text.append('/');
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.chessgame;
+
+import ChessGame.Board;
+import ChessGame.analysis.BatchAnalyzer;
+import ChessGame.bitboard.PackedPosition;
+import ChessGame.notation.Fen;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The AnalyzeMain class is the command-line entry point for analysing many positions on
+ * all cores with {@link BatchAnalyzer}.
+ *
+ * <pre>
+ * java com.example.chessgame.AnalyzeMain (--file positions.epd | --binary positions.bin)
+ *                                        [--depth N] [--threads N] [--out results.tsv | --out -]
+ * java com.example.chessgame.AnalyzeMain --file positions.epd --convert positions.bin
+ * </pre>
+ * The input is either one FEN or EPD record per line, or a binary file of packed
+ * positions. Results are written as tab-separated lines to {@code --out} ("-" for
+ * standard output) or discarded; either way the positions per second are reported on
+ * standard error, overall, as an average per thread, and as measured on each thread from
+ * the positions it analysed.
+ *
+ * With {@code --convert} the positions of a FEN or EPD file are written to a binary file
+ * instead, which loads without any text parsing.
+ */
+public class AnalyzeMain {
+    public static void main(String[] args) throws IOException {
+        Path file = null;
+        Path binary = null;
+        String out = null;
+        Path convert = null;
+        int depth = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--file":
+                    file = Paths.get(args[++i]);
+                    break;
+                case "--binary":
+                    binary = Paths.get(args[++i]);
+                    break;
+                case "--out":
+                    out = args[++i];
+                    break;
+                case "--convert":
+                    convert = Paths.get(args[++i]);
+                    break;
+                case "--depth":
+                    depth = Integer.parseInt(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    printUsage();
+                    System.exit(2);
+            }
+        }
+        if ((file == null) == (binary == null) || (convert != null && file == null)) {
+            printUsage();
+            System.exit(2);
+        }
+
+        if (convert != null) {
+            convert(file, convert);
+            return;
+        }
+
+        Writer writer = out == null ? null : out.equals("-")
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16)
+                : Files.newBufferedWriter(Paths.get(out), StandardCharsets.UTF_8);
+        Consumer<BatchAnalyzer.Result> sink = writer == null ? result -> { } : result -> {
+            try {
+                writer.write(result.toString());
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        long positions;
+        long[] perThread;
+        long start = System.nanoTime();
+        try (BatchAnalyzer analyzer = new BatchAnalyzer(threads, depth)) {
+            if (file != null) {
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    positions = analyzer.analyzeFens(reader, sink);
+                }
+            } else {
+                try (FileChannel channel = FileChannel.open(binary, StandardOpenOption.READ)) {
+                    positions = analyzer.analyzePacked(channel, sink);
+                }
+            }
+            perThread = analyzer.positionsPerThread();
+        } finally {
+            if (writer != null) {
+                writer.flush();
+                if (!out.equals("-")) {
+                    writer.close();
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long perSecond = positions * 1_000_000_000L / Math.max(1, elapsed);
+        System.err.printf("%,d positions, depth %d, %d threads, %.1f ms%n", positions, depth, threads, elapsed / 1e6);
+        System.err.printf("%,d positions/s, %,d positions/s per thread on average%n", perSecond, perSecond / threads);
+        Arrays.sort(perThread);
+        StringBuilder rates = new StringBuilder("measured per thread:");
+        for (int i = perThread.length - 1; i >= 0; i--) {
+            rates.append(String.format(" %,d", perThread[i] * 1_000_000_000L / Math.max(1, elapsed)));
+        }
+        System.err.println(rates.append(" positions/s"));
+    }
+
+    // Writes the positions of a FEN or EPD file as packed binary records
+    private static void convert(Path file, Path binary) throws IOException {
+        Board board = new Board(Fen.START_POSITION);
+        PackedPosition packed = new PackedPosition();
+        ByteBuffer buffer = ByteBuffer.allocate(BatchAnalyzer.CHUNK_SIZE * PackedPosition.BYTES);
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             FileChannel channel = FileChannel.open(binary, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                board.loadFen(line);
+                board.pack(packed);
+                packed.writeTo(buffer);
+                count++;
+                if (!buffer.hasRemaining()) {
+                    writeAll(channel, buffer);
+                }
+            }
+            writeAll(channel, buffer);
+        }
+        System.out.printf("Wrote %,d positions to %s%n", count, binary);
+    }
+
+    // Writes out and clears the buffer
+    private static void writeAll(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: AnalyzeMain (--file positions.epd | --binary positions.bin) [--depth N]"
+                + " [--threads N] [--out results.tsv | --out -]");
+        System.err.println("       AnalyzeMain --file positions.epd --convert positions.bin");
+    }
+}
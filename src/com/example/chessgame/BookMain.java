@@ -0,0 +1,143 @@
+package com.example.chessgame;
+
+import ChessGame.Board;
+import ChessGame.book.OpeningBook;
+import ChessGame.book.OpeningBookBuilder;
+import ChessGame.moves.MoveList;
+import ChessGame.notation.Fen;
+import ChessGame.notation.PgnReader;
+import ChessGame.notation.San;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The BookMain class is the command-line entry point for building and querying opening
+ * books.
+ *
+ * <pre>
+ * java com.example.chessgame.BookMain --build games.pgn --out book.bin [--plies N] [--min-games N]
+ * java com.example.chessgame.BookMain --book book.bin [--fen "FEN"] [--bench LOOKUPS]
+ * </pre>
+ * With {@code --build} the first plies of every game (20 by default) go into the book,
+ * keeping moves played in at least {@code --min-games} games (1 by default). With
+ * {@code --book} the book is opened and the moves for a position (the starting position
+ * by default) are listed with their weights; {@code --bench} also times lookups of
+ * positions that are in the book and of positions that are not.
+ */
+public class BookMain {
+    public static void main(String[] args) throws IOException {
+        Path build = null;
+        Path out = null;
+        Path bookFile = null;
+        String fen = Fen.START_POSITION;
+        int plies = 20;
+        int minGames = 1;
+        int bench = 0;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--build":
+                    build = Paths.get(args[++i]);
+                    break;
+                case "--out":
+                    out = Paths.get(args[++i]);
+                    break;
+                case "--book":
+                    bookFile = Paths.get(args[++i]);
+                    break;
+                case "--fen":
+                    fen = args[++i];
+                    break;
+                case "--plies":
+                    plies = Integer.parseInt(args[++i]);
+                    break;
+                case "--min-games":
+                    minGames = Integer.parseInt(args[++i]);
+                    break;
+                case "--bench":
+                    bench = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    printUsage();
+                    System.exit(2);
+            }
+        }
+
+        if (build != null && out != null) {
+            build(build, out, plies, minGames);
+        } else if (bookFile != null) {
+            query(bookFile, fen, bench);
+        } else {
+            printUsage();
+            System.exit(2);
+        }
+    }
+
+    // Builds a book from the games of a PGN file
+    private static void build(Path pgn, Path out, int plies, int minGames) throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(plies, minGames);
+        long errors = 0;
+        long start = System.nanoTime();
+        try (PgnReader reader = new PgnReader(Files.newBufferedReader(pgn, StandardCharsets.UTF_8))) {
+            while (reader.hasNext()) {
+                try {
+                    builder.add(reader.next());
+                } catch (IllegalArgumentException e) {
+                    if (errors++ < 10) {
+                        System.err.println(e.getMessage());
+                    }
+                }
+            }
+        }
+        int entries = builder.write(out);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%,d games (%,d errors), %,d entries, %,d bytes in %.1f ms%n",
+                builder.games(), errors, entries, Files.size(out), elapsed / 1e6);
+    }
+
+    // Lists the book moves of a position and optionally times lookups
+    private static void query(Path file, String fen, int bench) throws IOException {
+        long start = System.nanoTime();
+        OpeningBook book = OpeningBook.open(file);
+        System.out.printf("Opened %,d entries in %.3f ms%n", book.size(), (System.nanoTime() - start) / 1e6);
+
+        Board board = new Board(fen);
+        MoveList legalMoves = new MoveList();
+        long hash = board.hash();
+        int index = book.find(hash);
+        if (index < 0) {
+            System.out.println("Position not in book");
+        }
+        for (; index >= 0 && index < book.size() && book.keyAt(index) == hash; index++) {
+            System.out.printf("%-8s %,d%n", San.toString(board, book.moveAt(index), legalMoves), book.weightAt(index));
+        }
+
+        if (bench > 0 && book.size() > 0) {
+            // Alternate hashes taken from the book with random ones, which almost never hit
+            long seed = 0x2545F4914F6CDD1DL;
+            long found = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < bench; i++) {
+                seed ^= seed << 13;
+                seed ^= seed >>> 7;
+                seed ^= seed << 17;
+                long key = (i & 1) == 0 ? book.keyAt((int) Long.remainderUnsigned(seed, book.size())) : seed;
+                if (book.find(key) >= 0) {
+                    found++;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%,d lookups, %,d found, %.1f ns per lookup%n", bench, found, (double) elapsed / bench);
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: BookMain --build games.pgn --out book.bin [--plies N] [--min-games N]");
+        System.err.println("       BookMain --book book.bin [--fen \"FEN\"] [--bench LOOKUPS]");
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.chessgame;
+
+import ChessGame.Board;
+import ChessGame.bitboard.AttackTables;
+import ChessGame.perft.Perft;
+import ChessGame.perft.PerftPosition;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The PerftMain class is the command-line entry point for checking and timing the move
+ * generator. It runs perft on a list of positions and compares every count with its
+ * expected value, printing nodes per second for each depth.
+ *
+ * <pre>
+ * java com.example.chessgame.PerftMain [--depth N] [--file suite.epd] [--fen "FEN"] [--divide]
+ * </pre>
+ * Without {@code --file} or {@code --fen} the built-in reference positions are used.
+ * The exit status is 1 if any count differs from its expected value.
+ */
+public class PerftMain {
+    public static void main(String[] args) throws IOException {
+        int maxDepth = 4;
+        boolean divide = false;
+        List<PerftPosition> positions = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--depth":
+                    maxDepth = Integer.parseInt(args[++i]);
+                    break;
+                case "--divide":
+                    divide = true;
+                    break;
+                case "--fen":
+                    positions.add(new PerftPosition("fen", args[++i]));
+                    break;
+                case "--file":
+                    positions.addAll(readSuite(Paths.get(args[++i])));
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.println("Usage: PerftMain [--depth N] [--file suite.epd] [--fen \"FEN\"] [--divide]");
+                    System.exit(2);
+            }
+        }
+        if (positions.isEmpty()) {
+            positions = PerftPosition.referencePositions();
+        }
+
+        System.out.println(AttackTables.summary());
+        boolean allPassed = true;
+        long totalNodes = 0;
+        long totalNanos = 0;
+
+        for (PerftPosition position : positions) {
+            System.out.println();
+            System.out.println(position.getName() + ": " + position.getFen());
+            Board board = new Board(position.getFen());
+            Perft perft = new Perft(board);
+
+            if (divide) {
+                long nodes = 0;
+                for (Map.Entry<String, Long> entry : perft.divide(maxDepth).entrySet()) {
+                    System.out.println("  " + entry.getKey() + ": " + entry.getValue());
+                    nodes += entry.getValue();
+                }
+                System.out.println("  total: " + nodes);
+                continue;
+            }
+
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                long start = System.nanoTime();
+                long nodes = perft.perft(depth);
+                long nanos = System.nanoTime() - start;
+                totalNodes += nodes;
+                totalNanos += nanos;
+
+                String status = "";
+                if (depth <= position.getMaxDepth()) {
+                    boolean passed = nodes == position.getExpected(depth);
+                    allPassed &= passed;
+                    status = passed ? "OK" : "FAIL (expected " + position.getExpected(depth) + ")";
+                }
+                System.out.printf("  depth %2d  nodes %,15d  %9.1f ms  %,13.0f nps  %s%n",
+                        depth, nodes, nanos / 1_000_000.0, nodes * 1e9 / Math.max(nanos, 1), status);
+            }
+        }
+
+        if (!divide) {
+            System.out.println();
+            System.out.printf("Total: %,d nodes, %.1f ms, %,.0f nps%n",
+                    totalNodes, totalNanos / 1_000_000.0, totalNodes * 1e9 / Math.max(totalNanos, 1));
+            System.out.println(allPassed ? "All counts match." : "Some counts do NOT match.");
+        }
+        if (!allPassed) {
+            System.exit(1);
+        }
+    }
+
+    // Reads an EPD perft suite, skipping blank lines and # comments
+    private static List<PerftPosition> readSuite(Path file) throws IOException {
+        List<PerftPosition> positions = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(file)) {
+            lineNumber++;
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                positions.add(PerftPosition.parse(file.getFileName() + ":" + lineNumber, line));
+            }
+        }
+        return positions;
+    }
+}
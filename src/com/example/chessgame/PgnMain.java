@@ -0,0 +1,141 @@
+package com.example.chessgame;
+
+import ChessGame.Board;
+import ChessGame.bitboard.Position;
+import ChessGame.moves.MoveList;
+import ChessGame.notation.Fen;
+import ChessGame.notation.PgnGame;
+import ChessGame.notation.PgnReader;
+import ChessGame.notation.PgnWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The PgnMain class is the command-line entry point for reading and writing PGN files.
+ *
+ * <pre>
+ * java com.example.chessgame.PgnMain --file games.pgn [--out copy.pgn]
+ * java com.example.chessgame.PgnMain --generate GAMES --out games.pgn
+ * </pre>
+ * With {@code --file} it reads every game, resolving each move against the legal moves,
+ * and reports games and moves per second; games that cannot be read are counted and the
+ * first few errors are printed. With {@code --out} as well, the games read are written
+ * out again.
+ *
+ * With {@code --generate} it writes the given number of games of random legal moves,
+ * which is handy for testing the reader on large files.
+ */
+public class PgnMain {
+    public static void main(String[] args) throws IOException {
+        Path file = null;
+        Path out = null;
+        int generate = 0;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--file":
+                    file = Paths.get(args[++i]);
+                    break;
+                case "--out":
+                    out = Paths.get(args[++i]);
+                    break;
+                case "--generate":
+                    generate = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.println("Usage: PgnMain --file games.pgn [--out copy.pgn] | --generate GAMES --out games.pgn");
+                    System.exit(2);
+            }
+        }
+
+        if (generate > 0 && out != null) {
+            generate(generate, out);
+        } else if (file != null) {
+            read(file, out);
+        } else {
+            System.err.println("Usage: PgnMain --file games.pgn [--out copy.pgn] | --generate GAMES --out games.pgn");
+            System.exit(2);
+        }
+    }
+
+    // Reads every game of a file, optionally writing them out again, and reports the throughput
+    private static void read(Path file, Path out) throws IOException {
+        long games = 0;
+        long moves = 0;
+        long errors = 0;
+        long start = System.nanoTime();
+        try (PgnReader reader = new PgnReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+             PgnWriter writer = out == null ? null
+                     : new PgnWriter(Files.newBufferedWriter(out, StandardCharsets.UTF_8))) {
+            while (reader.hasNext()) {
+                PgnGame game;
+                try {
+                    game = reader.next();
+                } catch (IllegalArgumentException e) {
+                    if (errors++ < 10) {
+                        System.err.println(e.getMessage());
+                    }
+                    continue;
+                }
+                games++;
+                moves += game.getMoveCount();
+                if (writer != null) {
+                    writer.write(game);
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%,d games, %,d moves, %,d errors in %.1f ms%n", games, moves, errors, elapsed / 1e6);
+        System.out.printf("%,d games/s, %,d moves/s, %.1f MB/s%n", games * 1_000_000_000L / elapsed,
+                moves * 1_000_000_000L / elapsed, Files.size(file) / 1e6 / (elapsed / 1e9));
+    }
+
+    // Writes games of random legal moves from a fixed seed
+    private static void generate(int games, Path out) throws IOException {
+        Board board = new Board(Fen.START_POSITION);
+        MoveList legalMoves = new MoveList();
+        int[] moves = new int[400];
+        long seed = 0x2545F4914F6CDD1DL;
+        try (PgnWriter writer = new PgnWriter(Files.newBufferedWriter(out, StandardCharsets.UTF_8))) {
+            for (int game = 1; game <= games; game++) {
+                board.loadFen(Fen.START_POSITION);
+                int count = 0;
+                String result = "1/2-1/2";
+                while (count < moves.length) {
+                    legalMoves.clear();
+                    board.generateLegalMoves(legalMoves);
+                    if (legalMoves.isEmpty()) {
+                        if (board.isInCheck()) {
+                            result = board.sideToMove() == Position.WHITE ? "0-1" : "1-0";
+                        }
+                        break;
+                    }
+                    seed ^= seed << 13;
+                    seed ^= seed >>> 7;
+                    seed ^= seed << 17;
+                    int move = legalMoves.get((int) Long.remainderUnsigned(seed, legalMoves.size()));
+                    board.makeMove(move);
+                    moves[count++] = move;
+                }
+
+                Map<String, String> tags = new LinkedHashMap<>();
+                tags.put("Event", "Random game");
+                tags.put("Round", Integer.toString(game));
+                tags.put("White", "Random");
+                tags.put("Black", "Random");
+                tags.put("Result", result);
+                writer.write(new PgnGame(tags, Arrays.copyOf(moves, count)));
+            }
+        }
+        System.out.printf("Wrote %,d games to %s%n", games, out);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.chessgame;
+
+import ChessGame.Board;
+import ChessGame.moves.Move;
+import ChessGame.notation.Fen;
+import ChessGame.perft.PerftPosition;
+import ChessGame.search.Engine;
+import ChessGame.search.SearchLimits;
+import ChessGame.search.SearchResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The SearchMain class is the command-line entry point for running the engine on a
+ * position. It prints one line per completed iteration with the depth, score, nodes,
+ * nodes per second, time to depth and principal variation, then the best move.
+ *
+ * <pre>
+ * java com.example.chessgame.SearchMain [--fen "FEN"] [--depth N] [--movetime MS] [--nodes N]
+ *                                       [--hash MB] [--threads N] [--speedup]
+ * </pre>
+ * Without a limit the search runs to depth 8 from the starting position.
+ *
+ * With {@code --speedup} each position (the perft reference positions unless
+ * {@code --fen} is given) is searched to a fixed depth once with one thread and once with
+ * {@code --threads} threads, each with a fresh table, and the report compares the time
+ * to each depth and the nodes per second of the two runs.
+ */
+public class SearchMain {
+    public static void main(String[] args) {
+        List<String> fens = new ArrayList<>();
+        int depth = 0;
+        long moveTime = 0;
+        long nodes = 0;
+        int hash = 64;
+        int threads = 1;
+        boolean speedup = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--fen":
+                    fens.add(args[++i]);
+                    break;
+                case "--depth":
+                    depth = Integer.parseInt(args[++i]);
+                    break;
+                case "--movetime":
+                    moveTime = Long.parseLong(args[++i]);
+                    break;
+                case "--nodes":
+                    nodes = Long.parseLong(args[++i]);
+                    break;
+                case "--hash":
+                    hash = Integer.parseInt(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--speedup":
+                    speedup = true;
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.println("Usage: SearchMain [--fen \"FEN\"] [--depth N] [--movetime MS] [--nodes N]"
+                            + " [--hash MB] [--threads N] [--speedup]");
+                    System.exit(2);
+            }
+        }
+        if (depth == 0) {
+            depth = moveTime > 0 || nodes > 0 ? SearchLimits.MAX_DEPTH : 8;
+        }
+
+        if (speedup) {
+            if (fens.isEmpty()) {
+                for (PerftPosition position : PerftPosition.referencePositions()) {
+                    fens.add(position.getFen());
+                }
+            }
+            reportSpeedup(fens, depth, hash, threads);
+            return;
+        }
+
+        String fen = fens.isEmpty() ? Fen.START_POSITION : fens.get(0);
+        SearchLimits limits = new SearchLimits(depth, nodes, moveTime);
+        System.out.println(fen);
+        System.out.println("limits: " + limits + ", threads " + threads);
+
+        Engine engine = new Engine(hash, threads);
+        SearchResult result = engine.search(new Board(fen), limits,
+                iteration -> System.out.println("info " + iteration));
+        System.out.println(engine.table());
+        System.out.println("bestmove " + Move.toString(result.getBestMove()));
+        engine.shutdown();
+    }
+
+    // Searches every position with one thread and with the requested threads and compares them
+    private static void reportSpeedup(List<String> fens, int depth, int hash, int threads) {
+        SearchLimits limits = SearchLimits.depth(depth);
+        long singleNanos = 0;
+        long parallelNanos = 0;
+        long singleNodes = 0;
+        long parallelNodes = 0;
+        System.out.printf("Speedup of %d threads over 1 thread, depth %d%n", threads, depth);
+
+        // Warm up the JIT so the first measured run is not slower for reasons unrelated to threads
+        searchOnce(fens.get(0), SearchLimits.depth(Math.min(depth, 5)), hash, threads);
+
+        for (String fen : fens) {
+            SearchResult single = searchOnce(fen, limits, hash, 1);
+            SearchResult parallel = searchOnce(fen, limits, hash, threads);
+            System.out.println();
+            System.out.println(fen);
+            System.out.println("  depth   1 thread ms   " + threads + " threads ms   time-to-depth speedup");
+            for (int d = 1; d <= Math.min(single.getDepth(), parallel.getDepth()); d++) {
+                double singleMs = single.getTimeToDepthNanos(d) / 1e6;
+                double parallelMs = parallel.getTimeToDepthNanos(d) / 1e6;
+                System.out.printf("  %5d %13.1f %13.1f %10.2fx%n", d, singleMs, parallelMs, singleMs / parallelMs);
+            }
+            System.out.printf("  nps: %,d vs %,d (%.2fx)%n", single.getNodesPerSecond(), parallel.getNodesPerSecond(),
+                    (double) parallel.getNodesPerSecond() / Math.max(1, single.getNodesPerSecond()));
+            singleNanos += single.getElapsedNanos();
+            parallelNanos += parallel.getElapsedNanos();
+            singleNodes += single.getNodes();
+            parallelNodes += parallel.getNodes();
+        }
+
+        System.out.println();
+        System.out.printf("Total time to depth %d: %.1f ms vs %.1f ms, speedup %.2fx%n", depth,
+                singleNanos / 1e6, parallelNanos / 1e6, (double) singleNanos / parallelNanos);
+        System.out.printf("Total nps: %,d vs %,d, ratio %.2fx%n", singleNodes * 1_000_000_000L / singleNanos,
+                parallelNodes * 1_000_000_000L / parallelNanos,
+                ((double) parallelNodes / parallelNanos) / ((double) singleNodes / singleNanos));
+    }
+
+    // Runs one search with a fresh engine, so no run benefits from another's table
+    private static SearchResult searchOnce(String fen, SearchLimits limits, int hash, int threads) {
+        Engine engine = new Engine(hash, threads);
+        try {
+            return engine.search(new Board(fen), limits);
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
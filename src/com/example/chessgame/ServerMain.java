@@ -0,0 +1,179 @@
+package com.example.chessgame;
+
+import ChessGame.Board;
+import ChessGame.bitboard.PackedPosition;
+import ChessGame.notation.Fen;
+import ChessGame.server.SessionManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The ServerMain class is the command-line entry point for hosting games without the GUI.
+ *
+ * <pre>
+ * java com.example.chessgame.ServerMain [--shards N]
+ * java com.example.chessgame.ServerMain --load GAMES [--moves N] [--shards N]
+ * java com.example.chessgame.ServerMain --memory GAMES
+ * </pre>
+ * By default it reads lines of the form "GAME-ID COMMAND" from standard input and prints
+ * each response prefixed with the game id; see {@link SessionManager} for the commands.
+ *
+ * With {@code --load} it opens the given number of games, plays up to {@code --moves}
+ * random legal moves in each of them, and reports the commands per second and the heap
+ * used per open session.
+ *
+ * With {@code --memory} it compares the heap used per game by a {@link Board} with its
+ * Piece[][] view, as the GUI keeps it, by a Board used only for rule queries, and by the
+ * {@link PackedPosition} that hosted sessions keep between commands.
+ */
+public class ServerMain {
+    public static void main(String[] args) throws IOException {
+        int shards = Runtime.getRuntime().availableProcessors();
+        int load = 0;
+        int moves = 20;
+        int memory = 0;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--shards":
+                    shards = Integer.parseInt(args[++i]);
+                    break;
+                case "--load":
+                    load = Integer.parseInt(args[++i]);
+                    break;
+                case "--moves":
+                    moves = Integer.parseInt(args[++i]);
+                    break;
+                case "--memory":
+                    memory = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.println("Usage: ServerMain [--shards N] [--load GAMES] [--moves N] [--memory GAMES]");
+                    System.exit(2);
+            }
+        }
+
+        if (memory > 0) {
+            reportMemory(memory);
+            return;
+        }
+
+        try (SessionManager manager = new SessionManager(shards)) {
+            if (load > 0) {
+                runLoad(manager, load, moves);
+            } else {
+                serve(manager);
+            }
+        }
+    }
+
+    // Answers commands from standard input in order
+    private static void serve(SessionManager manager) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = in.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            int space = line.indexOf(' ');
+            String gameId = space < 0 ? line : line.substring(0, space);
+            String command = space < 0 ? "" : line.substring(space + 1);
+            System.out.println(gameId + " " + manager.execute(gameId, command).join());
+        }
+    }
+
+    // Opens many games, plays random legal moves in all of them and measures throughput and memory
+    private static void runLoad(SessionManager manager, int games, int moves) {
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+
+        List<CompletableFuture<String>> pending = new ArrayList<>(games);
+        for (int game = 0; game < games; game++) {
+            pending.add(manager.execute("game-" + game, "new"));
+        }
+        pending.forEach(CompletableFuture::join);
+        long commands = games;
+
+        // Each round asks every game for its moves, then plays one picked by a fixed-seed generator
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int ply = 0; ply < moves; ply++) {
+            pending.clear();
+            for (int game = 0; game < games; game++) {
+                pending.add(manager.execute("game-" + game, "moves"));
+            }
+            List<CompletableFuture<String>> played = new ArrayList<>(games);
+            for (int game = 0; game < games; game++) {
+                String[] legal = pending.get(game).join().split(" ");
+                commands++;
+                if (legal.length > 1) {
+                    seed = seed * 6364136223846793005L + 1442695040888963407L;
+                    String move = legal[1 + (int) ((seed >>> 33) % (legal.length - 1))];
+                    played.add(manager.execute("game-" + game, "move " + move));
+                }
+            }
+            played.forEach(CompletableFuture::join);
+            commands += played.size();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long heapAfter = usedHeap();
+        int sessions = manager.sessionCount();
+        System.out.printf("%,d sessions on %d shards, %d plies each%n", sessions, manager.shardCount(), moves);
+        System.out.printf("%,d commands in %.1f ms, %,d commands/s%n", commands, elapsed / 1e6,
+                commands * 1_000_000_000L / elapsed);
+        System.out.printf("Heap used by sessions: %,d bytes, %,d bytes per session%n", heapAfter - heapBefore,
+                (heapAfter - heapBefore) / Math.max(1, sessions));
+    }
+
+    // Measures the heap used per game by each way of holding a position
+    private static void reportMemory(int games) {
+        System.out.printf("Heap per game, %,d games from the starting position%n", games);
+        long viewBytes = bytesPerGame(games, () -> {
+            Board board = new Board(Fen.START_POSITION);
+            board.getPieceAt(0, 0); // Builds the Piece[][] view with its 32 Piece objects
+            return board;
+        });
+        System.out.printf("  Board with Piece[][] view: %,6d bytes%n", viewBytes);
+        long boardBytes = bytesPerGame(games, () -> new Board(Fen.START_POSITION));
+        System.out.printf("  Board without view:        %,6d bytes%n", boardBytes);
+        Board board = new Board(Fen.START_POSITION);
+        long packedBytes = bytesPerGame(games, () -> {
+            PackedPosition packed = new PackedPosition();
+            board.pack(packed);
+            return packed;
+        });
+        System.out.printf("  PackedPosition:            %,6d bytes (%dx smaller than the GUI board)%n",
+                packedBytes, viewBytes / Math.max(1, packedBytes));
+    }
+
+    // Heap used per object created by the factory, including its slot in the array holding them
+    private static long bytesPerGame(int games, Supplier<Object> factory) {
+        long before = usedHeap();
+        Object[] held = new Object[games];
+        for (int i = 0; i < games; i++) {
+            held[i] = factory.get();
+        }
+        long bytes = usedHeap() - before;
+        Reference.reachabilityFence(held);
+        return bytes / games;
+    }
+
+    // Heap in use after asking for a collection; good enough to compare large numbers of objects
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}